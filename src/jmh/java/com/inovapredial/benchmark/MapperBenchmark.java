@@ -0,0 +1,121 @@
+package com.inovapredial.benchmark;
+
+import com.inovapredial.dto.requests.WorkOrderRequestDTO;
+import com.inovapredial.dto.responses.EquipmentResponseDTO;
+import com.inovapredial.dto.responses.WorkOrderResponseDTO;
+import com.inovapredial.mapper.EquipmentMapper;
+import com.inovapredial.mapper.EquipmentMapperImpl;
+import com.inovapredial.mapper.WorkOrderMapper;
+import com.inovapredial.mapper.WorkOrderMapperImpl;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Employee;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.model.enums.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões dos mappers MapStruct usadas em toda resposta de detalhe e escrita:
+ * entidade para DTO (ordem de serviço e equipamento com calendário) e DTO de
+ * requisição para entidade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final WorkOrderMapper workOrderMapper = new WorkOrderMapperImpl();
+    private final EquipmentMapper equipmentMapper = new EquipmentMapperImpl();
+
+    private WorkOrder workOrder;
+    private Equipment equipment;
+    private WorkOrderRequestDTO workOrderRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Building building = Building.builder().id(UUID.randomUUID()).name("Benchmark").build();
+        Calendar calendar = Calendar.builder()
+                .id(UUID.randomUUID())
+                .description("Comercial")
+                .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build();
+
+        equipment = Equipment.builder()
+                .id(UUID.randomUUID())
+                .identification("EQ-001")
+                .description("Bomba de recalque")
+                .serialNumber("SN-123456")
+                .classification(EquipmentType.EQUIPMENT)
+                .location("Casa de máquinas")
+                .criticality(Criticality.HIGH)
+                .purchaseDate(LocalDate.of(2022, 3, 1))
+                .warrantyEndDate(LocalDate.of(2025, 3, 1))
+                .price(new BigDecimal("12500.00"))
+                .equipmentStatus(EquipmentStatus.ACTIVE)
+                .group("Hidráulica")
+                .model("BR-200")
+                .costCenter("CC-01")
+                .calendar(calendar)
+                .building(building)
+                .build();
+
+        workOrder = WorkOrder.builder()
+                .id(UUID.randomUUID())
+                .description("Troca de rolamento")
+                .openingDate(LocalDateTime.of(2025, 1, 10, 8, 30))
+                .activityStatus(ActivityStatus.IN_PROGRESS)
+                .priority(Priority.HIGH)
+                .maintenanceType(MaintenanceType.CORRECTIVE)
+                .totalCost(new BigDecimal("350.00"))
+                .equipment(equipment)
+                .employee(Employee.builder().id(UUID.randomUUID()).name("Técnico").build())
+                .building(building)
+                .build();
+
+        workOrderRequest = new WorkOrderRequestDTO("Troca de rolamento", LocalDateTime.of(2025, 1, 10, 8, 30), null,
+                ActivityStatus.OPEN, Priority.HIGH, MaintenanceType.CORRECTIVE, null, equipment.getId(), null);
+    }
+
+    @Benchmark
+    public WorkOrderResponseDTO workOrderToResponse() {
+        return workOrderMapper.toResponseDTO(workOrder);
+    }
+
+    @Benchmark
+    public WorkOrder workOrderToEntity() {
+        return workOrderMapper.toEntity(workOrderRequest);
+    }
+
+    @Benchmark
+    public EquipmentResponseDTO equipmentToResponse() {
+        return equipmentMapper.toResponseDTO(equipment);
+    }
+}
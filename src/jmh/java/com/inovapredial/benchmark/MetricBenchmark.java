@@ -0,0 +1,193 @@
+package com.inovapredial.benchmark;
+
+import com.inovapredial.controller.MetricController;
+import com.inovapredial.dto.MetricFilterDTO;
+import com.inovapredial.dto.projection.EquipmentFailureProjection;
+import com.inovapredial.dto.projection.LowStockAlertProjection;
+import com.inovapredial.dto.projection.MetricSummaryProjection;
+import com.inovapredial.dto.projection.MonthlyCostProjection;
+import com.inovapredial.dto.projection.TopUsedItemProjection;
+import com.inovapredial.dto.responses.MetricResponseDTO;
+import com.inovapredial.model.Building;
+import com.inovapredial.repository.BuildingDailyMetricRepository;
+import com.inovapredial.repository.InventoryRepository;
+import com.inovapredial.repository.MetricQueryRepository;
+import com.inovapredial.service.BuildingService;
+import com.inovapredial.service.MetricResultCache;
+import com.inovapredial.service.MetricSectionExecutor;
+import com.inovapredial.service.MetricService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parte de CPU das métricas: conversão das datas recebidas pelo MetricController e
+ * montagem do MetricResponseDTO a partir das projeções. Os repositórios são stubs que
+ * devolvem projeções prontas (proxies sobre mapas, como as do Spring Data), então o
+ * tempo medido é o da montagem, sem banco, cache ou execução paralela.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricBenchmark {
+
+    private static final int MONTHS = 12;
+    private static final int ITEMS = 10;
+
+    private MethodHandle parseDateTime;
+    private MetricController metricController;
+    private MetricService metricService;
+    private MetricFilterDTO filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        // parseDateTime é privado: acessado uma única vez por MethodHandle
+        metricController = new MetricController(null, null, null);
+        parseDateTime = MethodHandles.privateLookupIn(MetricController.class, MethodHandles.lookup())
+                .findVirtual(MetricController.class, "parseDateTime", MethodType.methodType(LocalDateTime.class, String.class));
+
+        UUID buildingId = UUID.randomUUID();
+        filter = MetricFilterDTO.builder().buildingId(buildingId).build();
+
+        SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+        BuildingService buildingService = mock(BuildingService.class);
+        when(buildingService.findById(anyString())).thenReturn(Building.builder().id(buildingId).build());
+
+        BuildingDailyMetricRepository buildingDailyMetricRepository = mock(BuildingDailyMetricRepository.class);
+        when(buildingDailyMetricRepository.findMetricSummary(any(), any(), any(), any()))
+                .thenReturn(projections.createProjection(MetricSummaryProjection.class, summary()));
+
+        MetricQueryRepository metricQueryRepository = mock(MetricQueryRepository.class);
+        when(metricQueryRepository.findEquipmentFailures(any(), any(), any()))
+                .thenReturn(list(projections, EquipmentFailureProjection.class, ITEMS, i -> Map.of(
+                        "equipmentId", UUID.randomUUID().toString(),
+                        "equipmentName", "Equipamento " + i,
+                        "equipmentIdentification", "EQ-" + i,
+                        "criticality", "HIGH",
+                        "failureCount", (long) i + 1,
+                        "averageDaysBetweenFailures", 12.5,
+                        "lastFailureDate", LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(i))));
+        when(metricQueryRepository.findMonthlyWorkOrderCosts(any(), any(), any()))
+                .thenReturn(list(projections, MonthlyCostProjection.class, MONTHS, this::monthlyCost));
+        when(metricQueryRepository.findMonthlyTaskCosts(any(), any(), any()))
+                .thenReturn(list(projections, MonthlyCostProjection.class, MONTHS, this::monthlyCost));
+        when(metricQueryRepository.findTopUsedItems(any(), any(), any()))
+                .thenReturn(list(projections, TopUsedItemProjection.class, ITEMS, i -> Map.of(
+                        "itemId", UUID.randomUUID().toString(),
+                        "itemName", "Item " + i,
+                        "itemType", "PART",
+                        "totalQuantityUsed", (long) (i + 1) * 3,
+                        "totalCost", new BigDecimal("25.00").multiply(BigDecimal.valueOf(i + 1)),
+                        "currentStock", 10 - i)));
+
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findLowStockItems(any()))
+                .thenReturn(list(projections, LowStockAlertProjection.class, ITEMS, i -> Map.of(
+                        "itemId", UUID.randomUUID().toString(),
+                        "itemName", "Item " + i,
+                        "itemType", "MATERIAL",
+                        "currentQuantity", i,
+                        "minimumQuantity", 10,
+                        "unitCost", new BigDecimal("4.90"))));
+
+        MetricSectionExecutor sectionExecutor = new MetricSectionExecutor(null, mock(PlatformTransactionManager.class), false, 10_000);
+        MetricResultCache resultCache = new MetricResultCache(false, 0, 0);
+
+        metricService = new MetricService(metricQueryRepository, inventoryRepository, buildingDailyMetricRepository,
+                buildingService, sectionExecutor, resultCache);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTimeUtc() throws Throwable {
+        return (LocalDateTime) parseDateTime.invokeExact(metricController, "2025-10-01T03:00:00.000Z");
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTimeLocal() throws Throwable {
+        return (LocalDateTime) parseDateTime.invokeExact(metricController, "2025-10-01T03:00:00");
+    }
+
+    @Benchmark
+    public MetricResponseDTO completeMetricsAssembly() {
+        return metricService.calculateCompleteMetrics(filter);
+    }
+
+    private Map<String, Object> summary() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalWorkOrdersAllTime", 1_200L);
+        summary.put("totalWorkOrders", 340L);
+        summary.put("completedWorkOrders", 250L);
+        summary.put("cancelledWorkOrders", 15L);
+        summary.put("inProgressWorkOrders", 75L);
+        summary.put("workOrderCost", new BigDecimal("85400.00"));
+        summary.put("averageCompletionTimeHours", 36.4);
+        summary.put("preventiveCount", 120L);
+        summary.put("preventiveCost", new BigDecimal("21000.00"));
+        summary.put("preventiveAverageCost", new BigDecimal("175.00"));
+        summary.put("correctiveCount", 200L);
+        summary.put("correctiveCost", new BigDecimal("60000.00"));
+        summary.put("correctiveAverageCost", new BigDecimal("300.00"));
+        summary.put("predictiveCount", 20L);
+        summary.put("predictiveCost", new BigDecimal("4400.00"));
+        summary.put("predictiveAverageCost", new BigDecimal("220.00"));
+        summary.put("totalTasks", 900L);
+        summary.put("taskCost", new BigDecimal("18000.00"));
+        summary.put("materialCost", new BigDecimal("9300.00"));
+        summary.put("totalEquipments", 150L);
+        summary.put("activeEquipments", 130L);
+        summary.put("inactiveEquipments", 5L);
+        summary.put("underMaintenanceEquipments", 15L);
+        summary.put("criticalEquipments", 22L);
+        return summary;
+    }
+
+    private Map<String, Object> monthlyCost(int month) {
+        return Map.of(
+                "year", 2025,
+                "month", month + 1,
+                "totalCost", new BigDecimal("7100.00"),
+                "workOrderCount", 28L,
+                "taskCount", 75L);
+    }
+
+    private static <P> List<P> list(SpelAwareProxyProjectionFactory projections, Class<P> type, int size,
+                                    IntFunction<Map<String, Object>> row) {
+        List<P> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(projections.createProjection(type, row.apply(i)));
+        }
+        return rows;
+    }
+}
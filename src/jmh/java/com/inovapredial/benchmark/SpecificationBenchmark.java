@@ -0,0 +1,90 @@
+package com.inovapredial.benchmark;
+
+import com.inovapredial.dto.EquipmentFilterDTO;
+import com.inovapredial.dto.TaskFilterDTO;
+import com.inovapredial.dto.WorkOrderFilterDTO;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.model.enums.Priority;
+import com.inovapredial.specification.EquipmentSpecification;
+import com.inovapredial.specification.TaskSpecification;
+import com.inovapredial.specification.WorkOrderSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem das Specifications das buscas paginadas, com filtro vazio (caso mais
+ * comum) e com todos os campos preenchidos. A tradução para SQL depende do
+ * Hibernate e fica de fora: aqui só o custo de compor os predicados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private OwnUser user;
+    private WorkOrderFilterDTO emptyWorkOrderFilter;
+    private WorkOrderFilterDTO fullWorkOrderFilter;
+    private TaskFilterDTO fullTaskFilter;
+    private EquipmentFilterDTO fullEquipmentFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = OwnUser.builder().id(UUID.randomUUID()).email("benchmark@inovapredial.com").build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+        emptyWorkOrderFilter = new WorkOrderFilterDTO(null, null, null, null, null, null, null, null, null, null, null, null);
+        fullWorkOrderFilter = new WorkOrderFilterDTO("rolamento", start, end, start, end, ActivityStatus.OPEN,
+                Priority.HIGH, MaintenanceType.CORRECTIVE, UUID.randomUUID(), UUID.randomUUID(),
+                BigDecimal.ONE, BigDecimal.TEN);
+        fullTaskFilter = new TaskFilterDTO("troca", "rolamento", ActivityStatus.OPEN, 1, 8, start, end, start, end,
+                1, 8, BigDecimal.ONE, BigDecimal.TEN, UUID.randomUUID(), UUID.randomUUID());
+        fullEquipmentFilter = new EquipmentFilterDTO("EQ", "bomba", "SN", null, "casa", Criticality.HIGH,
+                EquipmentStatus.ACTIVE, "hidráulica", "BR", "CC");
+    }
+
+    @Benchmark
+    public Specification<WorkOrder> workOrderEmptyFilter() {
+        return WorkOrderSpecification.withFilters(emptyWorkOrderFilter, user);
+    }
+
+    @Benchmark
+    public Specification<WorkOrder> workOrderFullFilter() {
+        return WorkOrderSpecification.withFilters(fullWorkOrderFilter, user);
+    }
+
+    @Benchmark
+    public Specification<Task> taskFullFilter() {
+        return TaskSpecification.withFilters(fullTaskFilter, user);
+    }
+
+    @Benchmark
+    public Specification<Equipment> equipmentFullFilter() {
+        return EquipmentSpecification.withFilters(fullEquipmentFilter, user);
+    }
+}
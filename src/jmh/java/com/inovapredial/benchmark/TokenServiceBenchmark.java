@@ -0,0 +1,143 @@
+package com.inovapredial.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.UserRole;
+import com.inovapredial.security.PrincipalCache;
+import com.inovapredial.security.SecurityFilter;
+import com.inovapredial.security.TokenService;
+import com.inovapredial.service.OwnUserService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara a validação do JWT antes (verificador criado a cada chamada) e depois
+ * (verificador único + cache de tokens verificados), isolada e pelo SecurityFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService legacyTokenService;
+    private TokenService cachedTokenService;
+    private TokenService uncachedTokenService;
+
+    private SecurityFilter legacyFilter;
+    private SecurityFilter cachedFilter;
+
+    private final FilterChain chain = (request, response) -> { };
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OwnUser user = OwnUser.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .email("benchmark@inovapredial.com")
+                .role(UserRole.USER)
+                .build();
+
+        OwnUserService ownUserService = mock(OwnUserService.class);
+        when(ownUserService.loadUserByEmail(anyString())).thenReturn(user);
+
+        legacyTokenService = new LegacyTokenService(SECRET);
+        cachedTokenService = new TokenService(SECRET, 10_000);
+        uncachedTokenService = new TokenService(SECRET, 0);
+
+        legacyFilter = new SecurityFilter(legacyTokenService, ownUserService, new PrincipalCache(true, 60, 10_000));
+        cachedFilter = new SecurityFilter(cachedTokenService, ownUserService, new PrincipalCache(true, 60, 10_000));
+
+        token = cachedTokenService.generateToken(user);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String validateLegacy() {
+        return legacyTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateSingletonVerifier() {
+        return uncachedTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateCached() {
+        return cachedTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest filterLegacy() throws Exception {
+        return filter(legacyFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest filterCached() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    private MockHttpServletRequest filter(SecurityFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metrics");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return request;
+    }
+
+    // Implementação anterior: Algorithm e JWTVerifier recriados a cada validação
+    private static class LegacyTokenService extends TokenService {
+
+        private final String secret;
+
+        LegacyTokenService(String secret) {
+            super(secret, 0);
+            this.secret = secret;
+        }
+
+        @Override
+        public String validateToken(String token) {
+            try {
+                Algorithm algorithm = Algorithm.HMAC256(secret);
+                return JWT.require(algorithm)
+                        .withIssuer("inovapredial-api")
+                        .build()
+                        .verify(token)
+                        .getSubject();
+            } catch (JWTVerificationException exception) {
+                return "";
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.inovapredial.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ponto de entrada do teste de carga (perfil Maven "loadtest").
+ * "generate" popula o PostgreSQL local com prédios sintéticos e "run" dispara a mistura
+ * de requisições contra a API já em execução. Os parâmetros vêm de propriedades de sistema
+ * loadtest.*, repassadas pelo perfil.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 ? args[0] : "run";
+        Config config = Config.fromSystemProperties();
+
+        switch (command) {
+            case "generate" -> LoadTestDataGenerator.generate(config);
+            case "run" -> new LoadTestRunner(config).run();
+            default -> throw new IllegalArgumentException("Comando desconhecido: " + command + " (use generate ou run)");
+        }
+    }
+
+    /**
+     * Parâmetros do gerador e do executor. O volume por prédio é multiplicado por scale;
+     * mix define o peso relativo de cada grupo de cenários.
+     */
+    public record Config(
+            String baseUrl,
+            String email,
+            String password,
+            int buildings,
+            double scale,
+            long seed,
+            int concurrency,
+            int warmupSeconds,
+            int durationSeconds,
+            Map<String, Integer> mix,
+            String report
+    ) {
+
+        static Config fromSystemProperties() {
+            return new Config(
+                    property("loadtest.baseUrl", "http://localhost:8080"),
+                    property("loadtest.email", "loadtest@inovapredial.com"),
+                    property("loadtest.password", "loadtest"),
+                    Integer.parseInt(property("loadtest.buildings", "5")),
+                    Double.parseDouble(property("loadtest.scale", "1")),
+                    Long.parseLong(property("loadtest.seed", "42")),
+                    Integer.parseInt(property("loadtest.concurrency", "16")),
+                    Integer.parseInt(property("loadtest.warmupSeconds", "10")),
+                    Integer.parseInt(property("loadtest.durationSeconds", "60")),
+                    parseMix(property("loadtest.mix", "search=60,metrics=25,stock=15")),
+                    property("loadtest.report", "target/load-test-report.csv"));
+        }
+
+        int scaled(int perBuilding) {
+            return Math.max(1, (int) Math.round(perBuilding * scale));
+        }
+
+        private static String property(String name, String defaultValue) {
+            String value = System.getProperty(name);
+            return value == null || value.isBlank() ? defaultValue : value;
+        }
+
+        // Formato: grupo=peso,grupo=peso (grupos: search, metrics, stock)
+        private static Map<String, Integer> parseMix(String mix) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Entrada inválida em loadtest.mix: " + entry);
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Peso negativo em loadtest.mix: " + entry);
+                }
+                weights.put(parts[0].trim(), weight);
+            }
+            return weights;
+        }
+    }
+}
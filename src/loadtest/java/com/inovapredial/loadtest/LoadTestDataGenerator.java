@@ -0,0 +1,454 @@
+package com.inovapredial.loadtest;
+
+import com.inovapredial.InovapredialApplication;
+import com.inovapredial.model.Address;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Employee;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.EquipmentPlan;
+import com.inovapredial.model.EquipmentPlanId;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.InventoryMovement;
+import com.inovapredial.model.MaintenancePlan;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.WorkOrderInventory;
+import com.inovapredial.model.WorkOrderInventoryId;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.BuildingType;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.ItemType;
+import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.model.enums.MovementType;
+import com.inovapredial.model.enums.Priority;
+import com.inovapredial.model.enums.UserRole;
+import com.inovapredial.repository.BuildingDailyMetricRepository;
+import com.inovapredial.service.WorkOrderCostReconciliationService;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Popula o banco configurado (application.yml ou SPRING_DATASOURCE_*) com prédios
+ * sintéticos pelas próprias entidades, em uma transação por prédio. O usuário de carga
+ * (loadtest.email/loadtest.password) recebe acesso a todos os prédios gerados, e o
+ * rollup diário das métricas é recalculado ao final de cada prédio.
+ * Com a mesma semente e a mesma escala o volume gerado é sempre o mesmo.
+ */
+class LoadTestDataGenerator {
+
+    // Volumes por prédio com scale = 1
+    private static final int CALENDARS = 3;
+    private static final int EMPLOYEES = 25;
+    private static final int EQUIPMENTS = 250;
+    private static final int MAINTENANCE_PLANS = 20;
+    private static final int INVENTORY_ITEMS = 120;
+    private static final int WORK_ORDERS = 2_500;
+    private static final int HISTORY_DAYS = 730;
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] CITIES = {"São Paulo", "Campinas", "Curitiba", "Belo Horizonte", "Porto Alegre"};
+    private static final String[] GROUPS = {"Hidráulica", "Elétrica", "Climatização", "Elevadores", "Incêndio"};
+    private static final String[] TASKS = {"Inspeção", "Desmontagem", "Troca de peça", "Limpeza", "Teste", "Montagem"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BuildingDailyMetricRepository buildingDailyMetricRepository;
+    private final WorkOrderCostReconciliationService workOrderCostReconciliationService;
+    private final PasswordEncoder passwordEncoder;
+    private final LoadTest.Config config;
+    private final Random random;
+
+    private int pending;
+
+    LoadTestDataGenerator(ConfigurableApplicationContext context, LoadTest.Config config) {
+        this.entityManager = context.getBean(EntityManager.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.buildingDailyMetricRepository = context.getBean(BuildingDailyMetricRepository.class);
+        this.workOrderCostReconciliationService = context.getBean(WorkOrderCostReconciliationService.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    static void generate(LoadTest.Config config) {
+        // Porta aleatória: o gerador pode rodar com a API já no ar
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InovapredialApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                        "spring.jpa.properties.hibernate.order_inserts=true")
+                .run()) {
+            new LoadTestDataGenerator(context, config).generate();
+        }
+    }
+
+    void generate() {
+        UUID userId = transactionTemplate.execute(status -> loadTestUser().getId());
+        for (int i = 1; i <= config.buildings(); i++) {
+            int index = i;
+            long start = System.nanoTime();
+            UUID buildingId = transactionTemplate.execute(status -> generateBuilding(userId, index));
+            // Parcelas e total das ordens geradas vêm da conciliação, um lote por transação
+            int costed = 0;
+            for (int batch; (batch = workOrderCostReconciliationService.reconcile()) > 0; ) {
+                costed += batch;
+            }
+            transactionTemplate.executeWithoutResult(status -> buildingDailyMetricRepository.refreshRange(buildingId,
+                    LocalDate.now().minusDays(HISTORY_DAYS + 1).atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay()));
+            System.out.printf("Prédio %d/%d (%s) gerado em %d ms, %d ordens com custo%n", index, config.buildings(),
+                    buildingId, (System.nanoTime() - start) / 1_000_000, costed);
+        }
+    }
+
+    private OwnUser loadTestUser() {
+        List<OwnUser> existing = entityManager.createQuery("SELECT u FROM OwnUser u WHERE u.email = :email", OwnUser.class)
+                .setParameter("email", config.email())
+                .getResultList();
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+
+        OwnUser user = OwnUser.builder()
+                .username(config.email().substring(0, config.email().indexOf('@')))
+                .email(config.email())
+                .password(passwordEncoder.encode(config.password()))
+                .role(UserRole.ADMIN)
+                .buildings(new HashSet<>())
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private UUID generateBuilding(UUID userId, int index) {
+        pending = 0;
+        OwnUser user = entityManager.find(OwnUser.class, userId);
+
+        Building building = Building.builder()
+                .name("Carga " + index + " - " + UUID.randomUUID().toString().substring(0, 8))
+                .buildingType(pick(BuildingType.values()))
+                .constructionYear(1970 + random.nextInt(55))
+                .address(Address.builder()
+                        .street("Rua Sintética " + index)
+                        .number(1 + random.nextInt(2000))
+                        .district("Centro")
+                        .city(pick(CITIES))
+                        .state("SP")
+                        .zipCode(String.format("%08d", random.nextInt(100_000_000)))
+                        .build())
+                .build();
+        entityManager.persist(building);
+        user.getBuildings().add(building);
+
+        List<Calendar> calendars = calendars();
+        List<Employee> employees = employees(building, calendars);
+        List<Equipment> equipments = equipments(building, user, calendars);
+        List<MaintenancePlan> plans = maintenancePlans(building, user);
+        equipmentPlans(building, equipments, plans);
+        List<Inventory> items = inventory(building, employees);
+        Map<UUID, Integer> withdrawn = workOrders(building, equipments, employees, items);
+        openingBalances(building, items, withdrawn);
+
+        entityManager.flush();
+        entityManager.clear();
+        return building.getId();
+    }
+
+    private List<Calendar> calendars() {
+        List<Calendar> calendars = new ArrayList<>();
+        for (int i = 0; i < CALENDARS; i++) {
+            boolean weekend = i == CALENDARS - 1;
+            Calendar calendar = Calendar.builder()
+                    .description(weekend ? "Plantão" : "Comercial " + (i + 1))
+                    .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                    .saturday(weekend).sunday(weekend)
+                    .startTime(LocalTime.of(weekend ? 0 : 7 + i, 0))
+                    .endTime(LocalTime.of(weekend ? 23 : 17 + i, weekend ? 59 : 0))
+                    .hasBreak(!weekend)
+                    .build();
+            persist(calendar);
+            calendars.add(calendar);
+        }
+        return calendars;
+    }
+
+    private List<Employee> employees(Building building, List<Calendar> calendars) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < config.scaled(EMPLOYEES); i++) {
+            Employee employee = Employee.builder()
+                    .name("Técnico " + (i + 1))
+                    .specialty(pick(GROUPS))
+                    .contact(String.format("(11) 9%04d-%04d", random.nextInt(10_000), random.nextInt(10_000)))
+                    .calendar(pick(calendars))
+                    .building(building)
+                    .build();
+            persist(employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private List<Equipment> equipments(Building building, OwnUser user, List<Calendar> calendars) {
+        List<Equipment> equipments = new ArrayList<>();
+        for (int i = 0; i < config.scaled(EQUIPMENTS); i++) {
+            LocalDate purchaseDate = LocalDate.now().minusDays(30 + random.nextInt(3_650));
+            Equipment equipment = Equipment.builder()
+                    .identification(String.format("EQ-%05d", i + 1))
+                    .description("Equipamento " + (i + 1))
+                    .serialNumber("SN-" + Long.toHexString(random.nextLong()).toUpperCase())
+                    .classification(random.nextInt(5) == 0 ? EquipmentType.COMPONENT : EquipmentType.EQUIPMENT)
+                    .location("Pavimento " + random.nextInt(20))
+                    .criticality(weighted(Criticality.values(), 2, 5, 3))
+                    .purchaseDate(purchaseDate)
+                    .warrantyEndDate(purchaseDate.plusYears(1 + random.nextInt(3)))
+                    .price(money(500, 80_000))
+                    .equipmentStatus(weighted(EquipmentStatus.values(), 85, 5, 10))
+                    .group(pick(GROUPS))
+                    .model("M-" + (100 + random.nextInt(900)))
+                    .costCenter("CC-" + (1 + random.nextInt(12)))
+                    .calendar(pick(calendars))
+                    .ownUser(user)
+                    .building(building)
+                    .build();
+            persist(equipment);
+            equipments.add(equipment);
+        }
+        return equipments;
+    }
+
+    private List<MaintenancePlan> maintenancePlans(Building building, OwnUser user) {
+        int[] frequencies = {7, 15, 30, 90, 180, 365};
+        List<MaintenancePlan> plans = new ArrayList<>();
+        for (int i = 0; i < config.scaled(MAINTENANCE_PLANS); i++) {
+            MaintenancePlan plan = MaintenancePlan.builder()
+                    .frequencyDays(frequencies[random.nextInt(frequencies.length)])
+                    .requiresShutdown(random.nextInt(4) == 0)
+                    .description("Plano " + (i + 1))
+                    .maintenanceType(random.nextInt(4) == 0 ? MaintenanceType.PREDICTIVE : MaintenanceType.PREVENTIVE)
+                    .ownUser(user)
+                    .building(building)
+                    .build();
+            persist(plan);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    // Cada equipamento recebe de um a dois planos distintos
+    private void equipmentPlans(Building building, List<Equipment> equipments, List<MaintenancePlan> plans) {
+        for (Equipment equipment : equipments) {
+            int first = random.nextInt(plans.size());
+            int count = plans.size() > 1 && random.nextBoolean() ? 2 : 1;
+            for (int j = 0; j < count; j++) {
+                MaintenancePlan plan = plans.get((first + j) % plans.size());
+                LocalDate startDate = LocalDate.now().minusDays(random.nextInt(HISTORY_DAYS));
+                EquipmentPlanId id = new EquipmentPlanId();
+                id.setEquipmentId(equipment.getId());
+                id.setPlanId(plan.getId());
+                persist(EquipmentPlan.builder()
+                        .id(id)
+                        .equipment(equipment)
+                        .maintenancePlan(plan)
+                        .startDate(startDate)
+                        .nextDueDate(LocalDate.now().plusDays(random.nextInt(plan.getFrequencyDays()) - 3L))
+                        .realized(random.nextInt(3) == 0)
+                        .building(building)
+                        .build());
+            }
+        }
+    }
+
+    private List<Inventory> inventory(Building building, List<Employee> employees) {
+        List<Inventory> items = new ArrayList<>();
+        for (int i = 0; i < config.scaled(INVENTORY_ITEMS); i++) {
+            int minimumStock = 5 + random.nextInt(20);
+            // Cerca de 10% dos itens abaixo do mínimo, o resto com folga para os cenários de estoque
+            int quantity = random.nextInt(10) == 0 ? random.nextInt(minimumStock) : 200 + random.nextInt(800);
+            Inventory item = Inventory.builder()
+                    .itemType(random.nextInt(3) == 0 ? ItemType.MATERIAL : ItemType.PART)
+                    .name("Item " + (i + 1))
+                    .cost(money(2, 900))
+                    .quantity(quantity)
+                    .minimumStock(minimumStock)
+                    .employee(pick(employees))
+                    .building(building)
+                    .build();
+            persist(item);
+            items.add(item);
+        }
+        return items;
+    }
+
+    // Retorna a quantidade retirada de cada item, para fechar o razão com o saldo atual
+    private Map<UUID, Integer> workOrders(Building building, List<Equipment> equipments, List<Employee> employees,
+                                          List<Inventory> items) {
+        Map<UUID, Integer> withdrawn = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < config.scaled(WORK_ORDERS); i++) {
+            LocalDateTime openingDate = now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60));
+            boolean recent = openingDate.isAfter(now.minusDays(30));
+            ActivityStatus status = recent
+                    ? weighted(ActivityStatus.values(), 45, 35, 15, 5)
+                    : weighted(ActivityStatus.values(), 2, 3, 88, 7);
+            LocalDateTime closingDate = status == ActivityStatus.COMPLETED || status == ActivityStatus.CANCELLED
+                    ? min(openingDate.plusHours(1 + random.nextInt(240)), now)
+                    : null;
+            Employee employee = pick(employees);
+
+            WorkOrder workOrder = WorkOrder.builder()
+                    .description("Ordem " + (i + 1))
+                    .openingDate(openingDate)
+                    .closingDate(closingDate)
+                    .activityStatus(status)
+                    .priority(weighted(Priority.values(), 30, 40, 22, 8))
+                    .maintenanceType(weighted(MaintenanceType.values(), 55, 35, 10))
+                    .equipment(pick(equipments))
+                    .employee(employee)
+                    .building(building)
+                    .build();
+
+            List<Task> tasks = new ArrayList<>();
+            int taskCount = 1 + random.nextInt(5);
+            for (int t = 0; t < taskCount; t++) {
+                LocalDateTime startDate = openingDate.plusMinutes(random.nextInt(24 * 60));
+                ActivityStatus taskStatus = status == ActivityStatus.IN_PROGRESS && t == taskCount - 1
+                        ? ActivityStatus.IN_PROGRESS
+                        : status;
+                boolean finished = taskStatus == ActivityStatus.COMPLETED;
+                int estimated = 30 + random.nextInt(480);
+                BigDecimal cost = money(20, 1_500);
+                tasks.add(Task.builder()
+                        .title(pick(TASKS))
+                        .description("Tarefa " + (t + 1) + " da ordem " + (i + 1))
+                        .activityStatus(taskStatus)
+                        .estimatedTime(estimated)
+                        .startDate(startDate)
+                        .endDate(finished ? startDate.plusMinutes(estimated) : null)
+                        .timeSpent(finished ? estimated / 2 + random.nextInt(estimated) : null)
+                        .cost(cost)
+                        .reason(taskStatus == ActivityStatus.CANCELLED ? "Cancelada na geração" : null)
+                        .workOrder(workOrder)
+                        .employee(random.nextInt(4) == 0 ? pick(employees) : employee)
+                        .building(building)
+                        .build());
+            }
+
+            // Saídas de estoque em cerca de 40% das ordens, sem repetir item na mesma ordem
+            List<WorkOrderInventory> outputs = new ArrayList<>();
+            if (random.nextInt(5) < 2) {
+                int first = random.nextInt(items.size());
+                int itemCount = Math.min(1 + random.nextInt(3), items.size());
+                for (int j = 0; j < itemCount; j++) {
+                    Inventory item = items.get((first + j) % items.size());
+                    int quantity = 1 + random.nextInt(4);
+                    BigDecimal itemCost = item.getCost().multiply(BigDecimal.valueOf(quantity));
+                    outputs.add(WorkOrderInventory.builder()
+                            .workOrder(workOrder)
+                            .inventory(item)
+                            .quantity(quantity)
+                            .totalCost(itemCost)
+                            .outputDate(openingDate.plusHours(random.nextInt(48)))
+                            .build());
+                }
+            }
+
+            // Materiais e mão de obra entram no total pela conciliação, ao fim do prédio
+            workOrder.setTotalCost(BigDecimal.ZERO);
+            persist(workOrder);
+            tasks.forEach(this::persist);
+            for (WorkOrderInventory output : outputs) {
+                WorkOrderInventoryId id = new WorkOrderInventoryId();
+                id.setWorkOrderId(workOrder.getId());
+                id.setInventoryId(output.getInventory().getId());
+                output.setId(id);
+                persist(output);
+                persist(InventoryMovement.builder()
+                        .inventoryId(output.getInventory().getId())
+                        .buildingId(building.getId())
+                        .movementType(MovementType.WITHDRAWAL)
+                        .quantity(-output.getQuantity())
+                        .workOrderId(workOrder.getId())
+                        .occurredAt(output.getOutputDate())
+                        .build());
+                withdrawn.merge(output.getInventory().getId(), output.getQuantity(), Integer::sum);
+            }
+        }
+        return withdrawn;
+    }
+
+    // Entrada inicial de cada item antes do histórico: entrada - saídas = quantidade atual
+    private void openingBalances(Building building, List<Inventory> items, Map<UUID, Integer> withdrawn) {
+        LocalDateTime openingDate = LocalDateTime.now().minusDays(HISTORY_DAYS + 1L);
+        for (Inventory item : items) {
+            persist(InventoryMovement.builder()
+                    .inventoryId(item.getId())
+                    .buildingId(building.getId())
+                    .movementType(MovementType.RECEIPT)
+                    .quantity(item.getQuantity() + withdrawn.getOrDefault(item.getId(), 0))
+                    .occurredAt(openingDate)
+                    .build());
+        }
+    }
+
+    // Descarrega o lote de inserts sem desanexar as entidades que ainda serão referenciadas
+    private void persist(Object entity) {
+        entityManager.persist(entity);
+        if (++pending % FLUSH_EVERY == 0) {
+            entityManager.flush();
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    // Sorteia um valor do enum com pesos na ordem de declaração
+    private <T> T weighted(T[] values, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private BigDecimal money(int min, int max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,332 @@
+package com.inovapredial.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispara a mistura de requisições contra a API em execução, em laço fechado: cada um
+ * dos loadtest.concurrency workers envia a próxima requisição assim que recebe a
+ * resposta anterior. Os grupos de cenários (buscas, métricas e movimentação de estoque)
+ * são sorteados pelos pesos de loadtest.mix. Depois do aquecimento, mede vazão e
+ * latências p50/p95/p99 por endpoint e grava o resumo em loadtest.report (CSV).
+ * Os alvos (prédios, equipamentos, itens) são descobertos pelas próprias buscas da API,
+ * então basta ter rodado o gerador antes.
+ */
+class LoadTestRunner {
+
+    private static final int DISCOVERY_PAGE_SIZE = 50;
+    private static final int MINIMUM_STOCK_FOR_SCENARIO = 50;
+
+    private final LoadTest.Config config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String token;
+
+    LoadTestRunner(LoadTest.Config config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    void run() throws Exception {
+        token = login();
+        List<Target> targets = discoverTargets();
+        if (targets.isEmpty()) {
+            throw new IllegalStateException("Nenhum prédio acessível para " + config.email() + ": rode o comando generate antes");
+        }
+        System.out.printf("Alvos: %d prédios, %d workers, aquecimento de %ds, medição de %ds, mix %s%n",
+                targets.size(), config.concurrency(), config.warmupSeconds(), config.durationSeconds(), config.mix());
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        Recorder total = new Recorder(warmupEnd);
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < config.concurrency(); i++) {
+                Target target = targets.get(i % targets.size());
+                futures.add(workers.submit(() -> work(target, warmupEnd, end)));
+            }
+            for (Future<Recorder> future : futures) {
+                total.merge(future.get());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        report(total);
+    }
+
+    // Laço de um worker; a ordem de serviço própria isola as saídas de estoque dos demais
+    private Recorder work(Target target, long warmupEnd, long end) throws Exception {
+        Recorder recorder = new Recorder(warmupEnd);
+        String workOrderId = createWorkOrder(target);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < end) {
+            switch (pickGroup(random)) {
+                case "search" -> search(target, random, recorder);
+                case "metrics" -> metrics(target, random, recorder);
+                case "stock" -> stock(target, workOrderId, random, recorder);
+                default -> throw new IllegalArgumentException("Grupo desconhecido em loadtest.mix");
+            }
+        }
+        return recorder;
+    }
+
+    private void search(Target target, ThreadLocalRandom random, Recorder recorder) {
+        String b = "?buildingId=" + target.buildingId();
+        switch (random.nextInt(5)) {
+            case 0 -> recorder.call("POST /work-orders/search (offset)",
+                    () -> send("POST", "/work-orders/search" + b + "&page=" + random.nextInt(20) + "&size=20", "{}"));
+            case 1 -> recorder.call("POST /work-orders/search (keyset)",
+                    () -> send("POST", "/work-orders/search" + b + "&size=20&pagination=KEYSET",
+                            "{\"activityStatus\":\"" + (random.nextBoolean() ? "OPEN" : "COMPLETED") + "\"}"));
+            case 2 -> recorder.call("POST /tasks/search",
+                    () -> send("POST", "/tasks/search" + b + "&size=20&pagination=SLICE", "{}"));
+            case 3 -> recorder.call("POST /equipments/search",
+                    () -> send("POST", "/equipments/search" + b + "&page=" + random.nextInt(5) + "&size=20", "{}"));
+            default -> recorder.call("POST /inventories/search",
+                    () -> send("POST", "/inventories/search" + b + "&size=20", "{}"));
+        }
+    }
+
+    private void metrics(Target target, ThreadLocalRandom random, Recorder recorder) {
+        // Janelas diferentes para não medir só acertos do cache de resultados
+        LocalDateTime endDate = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(random.nextInt(30));
+        String query = "?buildingId=" + target.buildingId()
+                + "&startDate=" + endDate.minusDays(30L + random.nextInt(335)) + "&endDate=" + endDate;
+        switch (random.nextInt(4)) {
+            case 0 -> recorder.call("POST /metrics/complete", () -> send("POST", "/metrics/complete" + query, null));
+            case 1 -> recorder.call("POST /metrics/general", () -> send("POST", "/metrics/general" + query, null));
+            case 2 -> recorder.call("POST /metrics/time-series", () -> send("POST", "/metrics/time-series" + query, null));
+            default -> recorder.call("POST /metrics/inventory", () -> send("POST", "/metrics/inventory" + query, null));
+        }
+    }
+
+    // Saída e devolução do mesmo item, mantendo o estoque estável durante a execução
+    private void stock(Target target, String workOrderId, ThreadLocalRandom random, Recorder recorder) {
+        String inventoryId = target.inventoryIds().get(random.nextInt(target.inventoryIds().size()));
+        String path = "/work-orders/" + workOrderId + "/inventory";
+        String b = "?buildingId=" + target.buildingId();
+        boolean added = recorder.call("POST /work-orders/{id}/inventory", () -> send("POST", path + b,
+                "{\"inventoryId\":\"" + inventoryId + "\",\"quantity\":" + (1 + random.nextInt(3)) + "}"));
+        if (added) {
+            recorder.call("DELETE /work-orders/{id}/inventory/{itemId}",
+                    () -> send("DELETE", path + "/" + inventoryId + b, null));
+        }
+    }
+
+    private String pickGroup(ThreadLocalRandom random) {
+        int total = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : config.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("loadtest.mix sem pesos positivos");
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode()
+                .put("login", config.email())
+                .put("password", config.password())
+                .toString();
+        HttpResponse<String> response = send("POST", "/auth/login", body);
+        return json(response, "/auth/login").get("token").asText();
+    }
+
+    private List<Target> discoverTargets() throws IOException, InterruptedException {
+        List<Target> targets = new ArrayList<>();
+        JsonNode buildings = json(send("POST", "/buildings/search?size=" + config.buildings(), "{}"), "/buildings/search");
+        for (JsonNode building : buildings.get("content")) {
+            String buildingId = building.get("id").asText();
+            String b = "?buildingId=" + buildingId + "&size=" + DISCOVERY_PAGE_SIZE;
+
+            List<String> equipmentIds = new ArrayList<>();
+            json(send("POST", "/equipments/search" + b, "{}"), "/equipments/search").get("content")
+                    .forEach(equipment -> equipmentIds.add(equipment.get("id").asText()));
+
+            List<String> inventoryIds = new ArrayList<>();
+            json(send("POST", "/inventories/search" + b, "{}"), "/inventories/search").get("content").forEach(item -> {
+                if (item.get("quantity").asInt() >= MINIMUM_STOCK_FOR_SCENARIO) {
+                    inventoryIds.add(item.get("id").asText());
+                }
+            });
+
+            if (!equipmentIds.isEmpty() && !inventoryIds.isEmpty()) {
+                targets.add(new Target(buildingId, equipmentIds, inventoryIds));
+            }
+        }
+        return targets;
+    }
+
+    // Só um equipamento sem ordem OPEN aceita nova ordem: percorre a lista até um aceitar.
+    // A ordem nasce IN_PROGRESS para não bloquear o mesmo equipamento para os outros workers.
+    private String createWorkOrder(Target target) throws IOException, InterruptedException {
+        String lastRejection = null;
+        for (String equipmentId : target.equipmentIds()) {
+            String body = objectMapper.createObjectNode()
+                    .put("description", "Teste de carga " + Thread.currentThread().getName())
+                    .put("maintenanceType", "CORRECTIVE")
+                    .put("activityStatus", "IN_PROGRESS")
+                    .put("equipmentId", equipmentId)
+                    .toString();
+            HttpResponse<String> response = send("POST", "/work-orders?buildingId=" + target.buildingId(), body);
+            if (response.statusCode() != 400) {
+                return json(response, "/work-orders").get("id").asText();
+            }
+            lastRejection = response.body();
+        }
+        throw new IllegalStateException("Nenhum equipamento do prédio " + target.buildingId()
+                + " aceitou nova ordem de serviço" + (lastRejection != null ? ": " + lastRejection : ""));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response, String endpoint) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(endpoint + " respondeu " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void report(Recorder recorder) throws IOException {
+        double seconds = config.durationSeconds();
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+
+        System.out.printf("%n%-48s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        List<Long> all = new ArrayList<>();
+        long errors = 0;
+        for (Map.Entry<String, List<Long>> entry : recorder.latencies.entrySet()) {
+            long endpointErrors = recorder.errors.getOrDefault(entry.getKey(), 0L);
+            lines.add(line(entry.getKey(), entry.getValue(), endpointErrors, seconds));
+            all.addAll(entry.getValue());
+            errors += endpointErrors;
+        }
+        lines.add(line("TOTAL", all, errors, seconds));
+
+        Path report = Path.of(config.report());
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.write(report, lines);
+        System.out.println("Relatório: " + report.toAbsolutePath());
+    }
+
+    private static String line(String endpoint, List<Long> latencies, long errors, double seconds) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double throughput = sorted.length / seconds;
+        double p50 = millis(percentile(sorted, 0.50));
+        double p95 = millis(percentile(sorted, 0.95));
+        double p99 = millis(percentile(sorted, 0.99));
+        double max = millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        System.out.printf("%-48s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, sorted.length, errors, throughput, p50, p95, p99, max);
+        return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                endpoint, sorted.length, errors, throughput, p50, p95, p99, max);
+    }
+
+    // Percentil pelo método nearest-rank
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Target(String buildingId, List<String> equipmentIds, List<String> inventoryIds) {
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Latências (em nanossegundos) e erros de um worker; só registra após o aquecimento.
+     * Respostas fora de 2xx e falhas de conexão contam como erro e ficam fora das latências.
+     */
+    private static final class Recorder {
+
+        private final long warmupEnd;
+        private final Map<String, List<Long>> latencies = new TreeMap<>();
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        private Recorder(long warmupEnd) {
+            this.warmupEnd = warmupEnd;
+        }
+
+        boolean call(String endpoint, Call call) {
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = call.send().statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (start >= warmupEnd) {
+                if (success) {
+                    latencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(elapsed);
+                } else {
+                    latencies.computeIfAbsent(endpoint, key -> new ArrayList<>());
+                    errors.merge(endpoint, 1L, Long::sum);
+                }
+            }
+            return success;
+        }
+
+        void merge(Recorder other) {
+            other.latencies.forEach((endpoint, values) ->
+                    latencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).addAll(values));
+            other.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Long::sum));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.inovapredial.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MetricExecutorConfig {
+
+    @Value("${api.metrics.parallel.pool-size:8}")
+    private int poolSize;
+
+    @Value("${api.metrics.parallel.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor metricTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("metrics-");
+        // Propaga o contexto de segurança da requisição para as threads do pool
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        // Com o pool saturado, a seção é calculada na própria thread da requisição
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -3,6 +3,7 @@ package com.inovapredial.controller;
 import com.inovapredial.dto.BuildingFilterDTO;
 import com.inovapredial.dto.requests.BuildingRequestDTO;
 import com.inovapredial.dto.responses.BuildingResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.mapper.BuildingMapper;
 import com.inovapredial.model.Building;
@@ -81,7 +82,7 @@ public class BuildingController {
         @ApiResponse(responseCode = "404", description = "Building not found")
     })
     public BuildingResponseDTO findById(@PathVariable String id) {
-        Building building = buildingService.findById(id);
+        Building building = buildingService.findWithAddressById(id);
         return buildingMapper.toResponseDTO(building);
     }
 
@@ -113,13 +114,16 @@ public class BuildingController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new BuildingFilterDTO();
         }
         
-        return buildingService.findAllWithFilters(filter, page, size, sortBy, sortDirection);
+        return buildingService.findAllWithFilters(filter, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 
 }
@@ -0,0 +1,39 @@
+package com.inovapredial.controller;
+
+import com.inovapredial.dto.responses.EntityCacheStatsDTO;
+import com.inovapredial.service.EntityCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache")
+public class CacheController {
+
+    private final EntityCache entityCache;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/entities/stats")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get second-level entity cache statistics per region")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cache statistics returned successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public List<EntityCacheStatsDTO> getEntityCacheStats() {
+        return entityCache.stats();
+    }
+}
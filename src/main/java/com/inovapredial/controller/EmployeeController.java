@@ -1,6 +1,7 @@
 package com.inovapredial.controller;
 
 import com.inovapredial.dto.EmployeeFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.EmployeeRequestDTO;
 import com.inovapredial.dto.responses.EmployeeResponseDTO;
@@ -84,7 +85,7 @@ public class EmployeeController {
     })
     public EmployeeResponseDTO findById(@PathVariable String id, 
                                        @RequestParam String buildingId) {
-        Employee employee = employeeService.findByIdAndBuilding(id, buildingId);
+        Employee employee = employeeService.findWithCalendarByIdAndBuilding(id, buildingId);
         return employeeMapper.toResponseDTO(employee);
     }
 
@@ -119,13 +120,16 @@ public class EmployeeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new EmployeeFilterDTO(null, null, null);
         }
         
-        return employeeService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return employeeService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 }
 
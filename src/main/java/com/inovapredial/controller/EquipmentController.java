@@ -3,6 +3,7 @@ package com.inovapredial.controller;
 import com.inovapredial.dto.EquipmentFilterDTO;
 import com.inovapredial.dto.requests.EquipmentRequestDTO;
 import com.inovapredial.dto.responses.EquipmentResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.mapper.EquipmentMapper;
 import com.inovapredial.model.Equipment;
@@ -84,7 +85,7 @@ public class EquipmentController {
     })
     public EquipmentResponseDTO findById(@PathVariable String id, 
                                         @RequestParam String buildingId) {
-        Equipment equipment = equipmentService.findByIdAndBuilding(id, buildingId);
+        Equipment equipment = equipmentService.findWithCalendarByIdAndBuilding(id, buildingId);
         return equipmentMapper.toResponseDTO(equipment);
     }
 
@@ -119,12 +120,15 @@ public class EquipmentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "identification") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new EquipmentFilterDTO(null, null, null, null, null, null, null, null, null, null);
         }
         
-        return equipmentService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return equipmentService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 }
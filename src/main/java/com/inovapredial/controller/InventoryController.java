@@ -2,7 +2,10 @@ package com.inovapredial.controller;
 
 import com.inovapredial.dto.InventoryFilterDTO;
 import com.inovapredial.dto.requests.InventoryRequestDTO;
+import com.inovapredial.dto.responses.InventoryMovementResponseDTO;
 import com.inovapredial.dto.responses.InventoryResponseDTO;
+import com.inovapredial.dto.responses.InventoryStockResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.mapper.InventoryMapper;
 import com.inovapredial.model.Inventory;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,6 +31,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Hidden
 @RestController
 @RequestMapping("inventories")
@@ -103,6 +110,43 @@ public class InventoryController {
         inventoryService.delete(id, buildingId);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("{id}/stock")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get inventory item stock at a point in time (current stock when 'at' is omitted)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stock retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "404", description = "Inventory item or Building not found")
+    })
+    public InventoryStockResponseDTO getStock(@PathVariable String id,
+                                              @RequestParam String buildingId,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return inventoryService.getStockAt(id, buildingId, at);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("{id}/movements")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get inventory item stock movements (last 30 days by default)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stock movements retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "404", description = "Inventory item or Building not found")
+    })
+    public List<InventoryMovementResponseDTO> getMovements(@PathVariable String id,
+                                                           @RequestParam String buildingId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return inventoryService.getMovements(id, buildingId, from, to);
+    }
+
     @PostMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.OK)
@@ -119,13 +163,16 @@ public class InventoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new InventoryFilterDTO(null, null, null);
         }
         
-        return inventoryService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return inventoryService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 }
 
@@ -3,6 +3,7 @@ package com.inovapredial.controller;
 import com.inovapredial.dto.MaintenancePlanFilterDTO;
 import com.inovapredial.dto.requests.MaintenancePlanRequestDTO;
 import com.inovapredial.dto.responses.MaintenancePlanResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.mapper.MaintenancePlanMapper;
 import com.inovapredial.model.MaintenancePlan;
@@ -119,12 +120,15 @@ public class MaintenancePlanController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "description") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new MaintenancePlanFilterDTO(null, null, null, null);
         }
         
-        return maintenancePlanService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return maintenancePlanService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 }
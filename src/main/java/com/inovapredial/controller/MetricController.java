@@ -1,8 +1,11 @@
 package com.inovapredial.controller;
 
 import com.inovapredial.dto.MetricFilterDTO;
+import com.inovapredial.dto.responses.MetricCacheStatsDTO;
 import com.inovapredial.dto.responses.MetricResponseDTO;
 import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.service.BuildingDailyMetricService;
+import com.inovapredial.service.MetricResultCache;
 import com.inovapredial.service.MetricService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -29,6 +33,8 @@ import java.util.UUID;
 public class MetricController {
 
     private final MetricService metricService;
+    private final BuildingDailyMetricService buildingDailyMetricService;
+    private final MetricResultCache metricResultCache;
     
     /**
      * Converte string de data ISO 8601 para LocalDateTime
@@ -227,4 +233,31 @@ public class MetricController {
         
         return metricService.calculateInventoryMetrics(filter);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rollup/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Rebuild the daily metrics rollup of a building")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Daily metrics rollup rebuilt successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Building not found")
+    })
+    public void rebuildDailyRollup(@RequestParam String buildingId) {
+        buildingDailyMetricService.rebuild(buildingId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get metrics result cache statistics")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cache statistics returned successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public MetricCacheStatsDTO getCacheStats() {
+        return metricResultCache.stats();
+    }
 }
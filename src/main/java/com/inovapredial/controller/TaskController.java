@@ -2,6 +2,7 @@ package com.inovapredial.controller;
 
 import com.inovapredial.dto.TaskFilterDTO;
 import com.inovapredial.dto.requests.TaskRequestDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.responses.TaskResponseDTO;
 import com.inovapredial.mapper.TaskMapper;
@@ -123,13 +124,16 @@ public class TaskController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "startDate") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
 
         if (filter == null) {
             filter = new TaskFilterDTO(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
         }
 
-        return taskService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return taskService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
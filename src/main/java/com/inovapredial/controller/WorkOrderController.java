@@ -3,6 +3,7 @@ package com.inovapredial.controller;
 import com.inovapredial.dto.WorkOrderFilterDTO;
 import com.inovapredial.dto.requests.WorkOrderInventoryRequestDTO;
 import com.inovapredial.dto.requests.WorkOrderRequestDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.responses.WorkOrderInventoryResponseDTO;
 import com.inovapredial.dto.responses.WorkOrderResponseDTO;
@@ -123,13 +124,16 @@ public class WorkOrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "openingDate") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "OFFSET") PageQueryDTO.Mode pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         
         if (filter == null) {
             filter = new WorkOrderFilterDTO(null, null, null, null, null, null, null, null, null, null, null, null);
         }
         
-        return workOrderService.findAllWithFilters(filter, buildingId, page, size, sortBy, sortDirection);
+        return workOrderService.findAllWithFilters(filter, buildingId, new PageQueryDTO(page, size, sortBy, sortDirection, pagination, after, approximateTotal));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -149,6 +153,23 @@ public class WorkOrderController {
         return workOrderService.addInventoryItem(workOrderId, dto, buildingId);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("{workOrderId}/inventory/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Add multiple inventory items to work order at once")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Inventory items added successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient stock for any item"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "404", description = "Work order, Inventory or Building not found")
+    })
+    public List<WorkOrderInventoryResponseDTO> addInventoryItems(@PathVariable String workOrderId,
+                                                                 @Valid @RequestBody List<WorkOrderInventoryRequestDTO> dtos,
+                                                                 @RequestParam String buildingId) {
+        return workOrderService.addInventoryItems(workOrderId, dtos, buildingId);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("{workOrderId}/inventory/{inventoryId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
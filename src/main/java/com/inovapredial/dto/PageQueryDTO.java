@@ -0,0 +1,32 @@
+package com.inovapredial.dto;
+
+/**
+ * Parâmetros de paginação das buscas com filtros.
+ * No modo KEYSET a página seguinte é pedida pelo cursor "after" (retornado em nextCursor)
+ * em vez do número da página. Nos modos KEYSET e SLICE a contagem total não é executada;
+ * no SLICE, approximateTotal pede uma estimativa do total às estatísticas do banco.
+ */
+public record PageQueryDTO(
+        int page,
+        int size,
+        String sortBy,
+        String sortDirection,
+        Mode mode,
+        String after,
+        boolean approximateTotal
+) {
+
+    public enum Mode {
+        OFFSET,
+        KEYSET,
+        SLICE
+    }
+
+    public boolean keyset() {
+        return mode == Mode.KEYSET || after != null;
+    }
+
+    public boolean slice() {
+        return mode == Mode.SLICE && after == null;
+    }
+}
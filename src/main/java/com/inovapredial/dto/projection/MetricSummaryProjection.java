@@ -0,0 +1,39 @@
+package com.inovapredial.dto.projection;
+
+import java.math.BigDecimal;
+
+public interface MetricSummaryProjection {
+    // Ordens de serviço
+    Long getTotalWorkOrdersAllTime();
+    Long getTotalWorkOrders();
+    Long getCompletedWorkOrders();
+    Long getCancelledWorkOrders();
+    Long getInProgressWorkOrders();
+    BigDecimal getWorkOrderCost();
+    Double getAverageCompletionTimeHours();
+
+    // Ordens de serviço por tipo de manutenção
+    Long getPreventiveCount();
+    BigDecimal getPreventiveCost();
+    BigDecimal getPreventiveAverageCost();
+    Long getCorrectiveCount();
+    BigDecimal getCorrectiveCost();
+    BigDecimal getCorrectiveAverageCost();
+    Long getPredictiveCount();
+    BigDecimal getPredictiveCost();
+    BigDecimal getPredictiveAverageCost();
+
+    // Tarefas
+    Long getTotalTasks();
+    BigDecimal getTaskCost();
+
+    // Materiais
+    BigDecimal getMaterialCost();
+
+    // Equipamentos
+    Long getTotalEquipments();
+    Long getActiveEquipments();
+    Long getInactiveEquipments();
+    Long getUnderMaintenanceEquipments();
+    Long getCriticalEquipments();
+}
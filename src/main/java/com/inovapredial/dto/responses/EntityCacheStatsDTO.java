@@ -0,0 +1,11 @@
+package com.inovapredial.dto.responses;
+
+public record EntityCacheStatsDTO(
+    String region,
+    long hits,
+    long misses,
+    double hitRatio,
+    long puts,
+    long evictions
+) {
+}
@@ -0,0 +1,15 @@
+package com.inovapredial.dto.responses;
+
+import com.inovapredial.model.enums.MovementType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record InventoryMovementResponseDTO(
+        UUID id,
+        MovementType movementType,
+        Integer quantity,
+        UUID workOrderId,
+        LocalDateTime occurredAt
+) {
+}
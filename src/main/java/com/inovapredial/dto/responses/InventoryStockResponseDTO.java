@@ -0,0 +1,11 @@
+package com.inovapredial.dto.responses;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record InventoryStockResponseDTO(
+        UUID inventoryId,
+        LocalDateTime at,
+        Integer quantity
+) {
+}
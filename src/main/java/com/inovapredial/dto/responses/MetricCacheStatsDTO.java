@@ -0,0 +1,9 @@
+package com.inovapredial.dto.responses;
+
+public record MetricCacheStatsDTO(
+    long hits,
+    long misses,
+    long evictions,
+    int size
+) {
+}
@@ -11,11 +11,11 @@ public class PageResponseDTO<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    // Nulos nos modos que não executam a contagem; no modo SLICE pode trazer uma estimativa
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean totalEstimated;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
 }
-
-
-
@@ -17,6 +17,8 @@ public record WorkOrderResponseDTO(
         Priority priority,
         MaintenanceType maintenanceType,
         BigDecimal totalCost,
+        BigDecimal materialCost,
+        BigDecimal laborCost,
         UUID equipmentId,
         UUID employeeId,
         UUID buildingId
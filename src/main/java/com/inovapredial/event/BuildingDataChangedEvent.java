@@ -0,0 +1,10 @@
+package com.inovapredial.event;
+
+import java.util.UUID;
+
+/**
+ * Publicado quando ordens de serviço, tarefas, itens de estoque ou equipamentos
+ * de um prédio são alterados.
+ */
+public record BuildingDataChangedEvent(UUID buildingId) {
+}
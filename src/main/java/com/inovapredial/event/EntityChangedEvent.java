@@ -0,0 +1,9 @@
+package com.inovapredial.event;
+
+import java.util.UUID;
+
+/**
+ * Publicado quando uma entidade mantida no cache de segundo nível é alterada ou excluída.
+ */
+public record EntityChangedEvent(Class<?> entityType, UUID id) {
+}
@@ -0,0 +1,8 @@
+package com.inovapredial.event;
+
+/**
+ * Publicado quando os dados de um usuário (senha, perfil) são alterados; subject é o
+ * mesmo identificador usado no token.
+ */
+public record PrincipalChangedEvent(String subject) {
+}
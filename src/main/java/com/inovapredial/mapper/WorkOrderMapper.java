@@ -14,6 +14,8 @@ public interface WorkOrderMapper {
     @Mapping(target = "equipment", ignore = true)
     @Mapping(target = "employee", ignore = true)
     @Mapping(target = "building", ignore = true)
+    @Mapping(target = "materialCost", ignore = true)
+    @Mapping(target = "laborCost", ignore = true)
     WorkOrder toEntity(WorkOrderRequestDTO dto);
 
     @Mapping(source = "equipment.id", target = "equipmentId")
@@ -25,5 +27,8 @@ public interface WorkOrderMapper {
     @Mapping(target = "equipment", ignore = true)
     @Mapping(target = "employee", ignore = true)
     @Mapping(target = "building", ignore = true)
+    @Mapping(target = "totalCost", ignore = true)
+    @Mapping(target = "materialCost", ignore = true)
+    @Mapping(target = "laborCost", ignore = true)
     void updateWorkOrderFromRequestDTO(WorkOrderRequestDTO dto, @MappingTarget WorkOrder workOrder);
 }
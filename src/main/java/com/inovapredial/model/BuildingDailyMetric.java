@@ -0,0 +1,53 @@
+package com.inovapredial.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Consolidado diário das métricas por prédio, tipo de manutenção e status.
+ * As colunas de ordens de serviço e materiais usam o dia de abertura da ordem;
+ * as colunas de tarefas usam o dia de início da tarefa.
+ */
+@Entity
+@Table(name = "building_daily_metrics")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class BuildingDailyMetric {
+
+    @EmbeddedId
+    private BuildingDailyMetricId id;
+
+    @Column(name = "work_order_count")
+    private Long workOrderCount;
+
+    @Column(name = "work_order_cost")
+    private BigDecimal workOrderCost;
+
+    @Column(name = "work_order_cost_count")
+    private Long workOrderCostCount;
+
+    @Column(name = "completion_seconds")
+    private BigDecimal completionSeconds;
+
+    @Column(name = "completion_count")
+    private Long completionCount;
+
+    @Column(name = "material_cost")
+    private BigDecimal materialCost;
+
+    @Column(name = "task_count")
+    private Long taskCount;
+
+    @Column(name = "task_cost")
+    private BigDecimal taskCost;
+}
@@ -0,0 +1,26 @@
+package com.inovapredial.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@Data
+public class BuildingDailyMetricId implements Serializable {
+
+    @Column(name = "building_id")
+    private UUID buildingId;
+
+    @Column(name = "metric_date")
+    private LocalDate metricDate;
+
+    @Column(name = "maintenance_type")
+    private String maintenanceType;
+
+    @Column(name = "activity_status")
+    private String activityStatus;
+}
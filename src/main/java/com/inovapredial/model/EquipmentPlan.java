@@ -3,6 +3,7 @@ package com.inovapredial.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -25,12 +26,12 @@ public class EquipmentPlan {
     @EmbeddedId
     private EquipmentPlanId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("planId")
     @JoinColumn(name = "plan_id", referencedColumnName = "id")
     private MaintenancePlan maintenancePlan;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("equipmentId")
     @JoinColumn(name = "equipment_id", referencedColumnName = "id")
     private Equipment equipment;
@@ -44,7 +45,7 @@ public class EquipmentPlan {
     @Column(name = "is_realized")
     private boolean realized;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "building_id")
     private Building building;
 }
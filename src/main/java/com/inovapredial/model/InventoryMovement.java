@@ -0,0 +1,57 @@
+package com.inovapredial.model;
+
+import com.inovapredial.model.enums.MovementType;
+import com.inovapredial.model.id.UuidV7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicInsert;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lançamento do razão de estoque, nunca alterado depois de gravado. quantity é a
+ * variação com sinal (saídas negativas). As referências ficam como ids para que o
+ * lançamento seja um insert simples, sem carregar item, prédio ou ordem de serviço.
+ * Sem occurredAt, o insert omite a coluna e o banco grava o início da transação.
+ */
+@Entity
+@DynamicInsert
+@Table(name = "inventory_movement")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryMovement {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "inventory_id", nullable = false, updatable = false)
+    private UUID inventoryId;
+
+    @Column(name = "building_id", nullable = false, updatable = false)
+    private UUID buildingId;
+
+    @Column(name = "movement_type", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private MovementType movementType;
+
+    @Column(name = "quantity", nullable = false, updatable = false)
+    private Integer quantity;
+
+    @Column(name = "work_order_id", updatable = false)
+    private UUID workOrderId;
+
+    @Column(name = "occurred_at", updatable = false)
+    private LocalDateTime occurredAt;
+}
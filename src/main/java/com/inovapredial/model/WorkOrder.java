@@ -3,12 +3,12 @@ package com.inovapredial.model;
 import com.inovapredial.model.enums.ActivityStatus;
 import com.inovapredial.model.enums.MaintenanceType;
 import com.inovapredial.model.enums.Priority;
+import com.inovapredial.model.id.UuidV7;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -31,7 +31,7 @@ import java.util.UUID;
 public class WorkOrder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "description")
@@ -55,18 +55,25 @@ public class WorkOrder {
     @Enumerated(EnumType.STRING)
     private MaintenanceType maintenanceType;
 
-    @Column(name = "total_cost")
+    // Mantido por variações atômicas (WorkOrderRepository): o save da entidade não regrava o total
+    @Column(name = "total_cost", updatable = false)
     private BigDecimal totalCost;
 
-    @ManyToOne
+    @Column(name = "material_cost", insertable = false, updatable = false)
+    private BigDecimal materialCost;
+
+    @Column(name = "labor_cost", insertable = false, updatable = false)
+    private BigDecimal laborCost;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipment_id")
     private Equipment equipment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "building_id")
     private Building building;
 
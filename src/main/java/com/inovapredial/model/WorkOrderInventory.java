@@ -4,6 +4,7 @@ package com.inovapredial.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -27,12 +28,12 @@ public class WorkOrderInventory {
     @EmbeddedId
     private WorkOrderInventoryId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("workOrderId")
     @JoinColumn(name = "work_order_id", referencedColumnName = "id")
     private WorkOrder workOrder;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("inventoryId")
     @JoinColumn(name = "inventory_id", referencedColumnName = "id")
     private Inventory inventory;
@@ -0,0 +1,10 @@
+package com.inovapredial.model.enums;
+
+public enum MovementType {
+    RECEIPT,
+    WITHDRAWAL,
+    RESTORE,
+    ADJUSTMENT,
+    // Saldo zerado na exclusão do item: o razão continua fechando em zero
+    CLOSING
+}
@@ -0,0 +1,19 @@
+package com.inovapredial.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id UUID ordenado no tempo (versão 7), gerado na aplicação por {@link UuidV7Generator}.
+ * Substitui {@code @GeneratedValue(strategy = GenerationType.UUID)} nas tabelas com muita
+ * inserção; a coluna continua uuid e convive com os ids v4 já gravados.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,42 @@
+package com.inovapredial.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562): 48 bits de timestamp Unix em milissegundos, 12 bits de sequência
+ * dentro do milissegundo e 62 bits aleatórios. Ids novos entram no fim do índice da PK,
+ * em vez de espalhados pela árvore como os v4, e são crescentes dentro da instância
+ * mesmo com o relógio voltando.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Último (timestamp << 12 | sequência) emitido; passar de 4096 ids no mesmo ms avança o timestamp
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long state = LAST.updateAndGet(last -> Math.max(System.currentTimeMillis() << 12, last + 1));
+        long mostSignificant = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,180 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.dto.projection.MetricSummaryProjection;
+import com.inovapredial.model.BuildingDailyMetric;
+import com.inovapredial.model.BuildingDailyMetricId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface BuildingDailyMetricRepository extends JpaRepository<BuildingDailyMetric, BuildingDailyMetricId> {
+
+    // Serializa o recálculo de um mesmo prédio/dia até o fim da transação
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:lockKey, 0))", nativeQuery = true)
+    Integer lockDay(@Param("lockKey") String lockKey);
+
+    // Recálculos por dia do prédio convivem entre si (compartilhado), mas não com a reconstrução completa
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(hashtextextended(:lockKey, 0))", nativeQuery = true)
+    Integer lockBuildingShared(@Param("lockKey") String lockKey);
+
+    // Reconstrução completa: espera os recálculos por dia em andamento e bloqueia os novos até o commit
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:lockKey, 0))", nativeQuery = true)
+    Integer lockBuilding(@Param("lockKey") String lockKey);
+
+    // Recalcula os dias do intervalo [fromDate, toDate) a partir das tabelas de origem.
+    // Tabela alterada declarada ao Hibernate: sem ela, o comando nativo esvazia todo o cache de segundo nível
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "building_daily_metrics"))
+    @Query(value = """
+        WITH wo AS (
+            SELECT w.* FROM work_order w
+            WHERE w.building_id = CAST(:buildingId AS uuid)
+            AND w.opening_date >= :fromDate AND w.opening_date < :toDate
+        ),
+        fresh AS (
+            SELECT metric_date, maintenance_type, activity_status,
+                   SUM(work_order_count) AS work_order_count, SUM(work_order_cost) AS work_order_cost,
+                   SUM(work_order_cost_count) AS work_order_cost_count,
+                   SUM(completion_seconds) AS completion_seconds, SUM(completion_count) AS completion_count,
+                   SUM(material_cost) AS material_cost, SUM(task_count) AS task_count, SUM(task_cost) AS task_cost
+            FROM (
+                SELECT CAST(wo.opening_date AS date) AS metric_date, COALESCE(wo.maintenance_type, 'UNKNOWN') AS maintenance_type,
+                       COALESCE(wo.activity_status, 'UNKNOWN') AS activity_status,
+                       COUNT(*) AS work_order_count, COALESCE(SUM(wo.total_cost), 0) AS work_order_cost,
+                       COUNT(wo.total_cost) AS work_order_cost_count,
+                       COALESCE(SUM(EXTRACT(EPOCH FROM wo.closing_date) - EXTRACT(EPOCH FROM wo.opening_date))
+                           FILTER (WHERE wo.activity_status = 'COMPLETED' AND wo.closing_date IS NOT NULL), 0) AS completion_seconds,
+                       COUNT(*) FILTER (WHERE wo.activity_status = 'COMPLETED' AND wo.closing_date IS NOT NULL) AS completion_count,
+                       0 AS material_cost, 0 AS task_count, 0 AS task_cost
+                FROM wo
+                GROUP BY 1, 2, 3
+                UNION ALL
+                SELECT CAST(wo.opening_date AS date), COALESCE(wo.maintenance_type, 'UNKNOWN'), COALESCE(wo.activity_status, 'UNKNOWN'),
+                       0, 0, 0, 0, 0, COALESCE(SUM(woi.total_cost), 0), 0, 0
+                FROM wo
+                JOIN work_order_inventory woi ON woi.work_order_id = wo.id
+                GROUP BY 1, 2, 3
+                UNION ALL
+                SELECT CAST(t.start_date AS date), COALESCE(tw.maintenance_type, 'UNKNOWN'),
+                       COALESCE(t.activity_status, 'UNKNOWN'),
+                       0, 0, 0, 0, 0, 0, COUNT(*), COALESCE(SUM(t.cost), 0)
+                FROM task t
+                LEFT JOIN work_order tw ON tw.id = t.work_order_id
+                WHERE t.building_id = CAST(:buildingId AS uuid)
+                AND t.start_date >= :fromDate AND t.start_date < :toDate
+                GROUP BY 1, 2, 3
+            ) parts
+            GROUP BY metric_date, maintenance_type, activity_status
+        ),
+        upserted AS (
+            INSERT INTO building_daily_metrics (building_id, metric_date, maintenance_type, activity_status,
+                                                work_order_count, work_order_cost, work_order_cost_count,
+                                                completion_seconds, completion_count, material_cost,
+                                                task_count, task_cost)
+            SELECT CAST(:buildingId AS uuid), f.metric_date, f.maintenance_type, f.activity_status,
+                   f.work_order_count, f.work_order_cost, f.work_order_cost_count,
+                   f.completion_seconds, f.completion_count, f.material_cost,
+                   f.task_count, f.task_cost
+            FROM fresh f
+            ON CONFLICT (building_id, metric_date, maintenance_type, activity_status) DO UPDATE SET
+                work_order_count = EXCLUDED.work_order_count,
+                work_order_cost = EXCLUDED.work_order_cost,
+                work_order_cost_count = EXCLUDED.work_order_cost_count,
+                completion_seconds = EXCLUDED.completion_seconds,
+                completion_count = EXCLUDED.completion_count,
+                material_cost = EXCLUDED.material_cost,
+                task_count = EXCLUDED.task_count,
+                task_cost = EXCLUDED.task_cost
+        )
+        DELETE FROM building_daily_metrics b
+        WHERE b.building_id = CAST(:buildingId AS uuid)
+        AND b.metric_date >= CAST(:fromDate AS date) AND b.metric_date < CAST(:toDate AS date)
+        AND NOT EXISTS (
+            SELECT 1 FROM fresh f
+            WHERE f.metric_date = b.metric_date
+            AND f.maintenance_type = b.maintenance_type
+            AND f.activity_status = b.activity_status
+        )
+        """, nativeQuery = true)
+    int refreshRange(@Param("buildingId") UUID buildingId,
+                     @Param("fromDate") LocalDateTime fromDate,
+                     @Param("toDate") LocalDateTime toDate);
+
+    // Mesmo resumo de MetricQueryRepository.findMetricSummary, lido do consolidado diário
+    @Query(value = """
+        WITH building_rollup AS (
+            SELECT r.* FROM building_daily_metrics r
+            WHERE r.building_id = :buildingId
+        ),
+        rollup_summary AS (
+            SELECT COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range), 0) AS total_work_orders,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.activity_status = 'COMPLETED'), 0) AS completed_work_orders,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.activity_status = 'CANCELLED'), 0) AS cancelled_work_orders,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.activity_status = 'IN_PROGRESS'), 0) AS in_progress_work_orders,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range
+                       AND (CAST(:maintenanceType AS varchar) IS NULL OR r.maintenance_type = CAST(:maintenanceType AS varchar))), 0) AS work_order_cost,
+                   SUM(r.completion_seconds) FILTER (WHERE r.in_range)
+                       / NULLIF(SUM(r.completion_count) FILTER (WHERE r.in_range), 0) / 3600 AS average_completion_time_hours,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREVENTIVE'), 0) AS preventive_count,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREVENTIVE'), 0) AS preventive_cost,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREVENTIVE')
+                       / NULLIF(SUM(r.work_order_cost_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREVENTIVE'), 0), 0) AS preventive_average_cost,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'CORRECTIVE'), 0) AS corrective_count,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'CORRECTIVE'), 0) AS corrective_cost,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'CORRECTIVE')
+                       / NULLIF(SUM(r.work_order_cost_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'CORRECTIVE'), 0), 0) AS corrective_average_cost,
+                   COALESCE(SUM(r.work_order_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREDICTIVE'), 0) AS predictive_count,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREDICTIVE'), 0) AS predictive_cost,
+                   COALESCE(SUM(r.work_order_cost) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREDICTIVE')
+                       / NULLIF(SUM(r.work_order_cost_count) FILTER (WHERE r.in_range AND r.maintenance_type = 'PREDICTIVE'), 0), 0) AS predictive_average_cost,
+                   COALESCE(SUM(r.work_order_count), 0) AS total_work_orders_all_time,
+                   COALESCE(SUM(r.task_count) FILTER (WHERE r.in_range), 0) AS total_tasks,
+                   COALESCE(SUM(r.task_cost) FILTER (WHERE r.in_range), 0) AS task_cost,
+                   COALESCE(SUM(r.material_cost) FILTER (WHERE r.in_range), 0) AS material_cost
+            FROM (
+                SELECT b.*,
+                       (b.metric_date >= COALESCE(CAST(:startDay AS date), CAST('1900-01-01' AS date))
+                        AND b.metric_date <= COALESCE(CAST(:endDay AS date), CAST('2100-12-31' AS date))) AS in_range
+                FROM building_rollup b
+            ) r
+        ),
+        equipment_summary AS (
+            SELECT COUNT(*) AS total_equipments,
+                   COUNT(*) FILTER (WHERE e.equipment_status = 'ACTIVE') AS active_equipments,
+                   COUNT(*) FILTER (WHERE e.equipment_status = 'INACTIVE') AS inactive_equipments,
+                   COUNT(*) FILTER (WHERE e.equipment_status = 'UNDER_MAINTENANCE') AS under_maintenance_equipments,
+                   COUNT(*) FILTER (WHERE e.criticality = 'HIGH') AS critical_equipments
+            FROM equipment e
+            WHERE e.building_id = :buildingId
+        )
+        SELECT r.total_work_orders_all_time as totalWorkOrdersAllTime, r.total_work_orders as totalWorkOrders,
+               r.completed_work_orders as completedWorkOrders, r.cancelled_work_orders as cancelledWorkOrders,
+               r.in_progress_work_orders as inProgressWorkOrders, r.work_order_cost as workOrderCost,
+               r.average_completion_time_hours as averageCompletionTimeHours,
+               r.preventive_count as preventiveCount, r.preventive_cost as preventiveCost,
+               r.preventive_average_cost as preventiveAverageCost,
+               r.corrective_count as correctiveCount, r.corrective_cost as correctiveCost,
+               r.corrective_average_cost as correctiveAverageCost,
+               r.predictive_count as predictiveCount, r.predictive_cost as predictiveCost,
+               r.predictive_average_cost as predictiveAverageCost,
+               r.total_tasks as totalTasks, r.task_cost as taskCost,
+               r.material_cost as materialCost,
+               e.total_equipments as totalEquipments, e.active_equipments as activeEquipments,
+               e.inactive_equipments as inactiveEquipments,
+               e.under_maintenance_equipments as underMaintenanceEquipments,
+               e.critical_equipments as criticalEquipments
+        FROM rollup_summary r, equipment_summary e
+        """, nativeQuery = true)
+    MetricSummaryProjection findMetricSummary(@Param("buildingId") UUID buildingId,
+                                              @Param("startDay") LocalDate startDay,
+                                              @Param("endDay") LocalDate endDay,
+                                              @Param("maintenanceType") String maintenanceType);
+}
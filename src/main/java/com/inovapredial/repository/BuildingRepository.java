@@ -1,10 +1,27 @@
 package com.inovapredial.repository;
 
 import com.inovapredial.model.Building;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BuildingRepository extends JpaRepository<Building, UUID>, JpaSpecificationExecutor<Building> {
+
+    // Detalhe e atualização do prédio: a resposta traz o endereço
+    @EntityGraph(attributePaths = "address")
+    Optional<Building> findWithAddressById(UUID id);
+
+    // Verifica o vínculo usuário/prédio sem carregar a coleção de usuários
+    @Query(value = """
+        SELECT EXISTS (
+            SELECT 1 FROM ownuser_building ub
+            WHERE ub.building_id = :buildingId AND ub.ownuser_id = :ownUserId
+        )
+        """, nativeQuery = true)
+    boolean existsMembership(@Param("buildingId") UUID buildingId, @Param("ownUserId") UUID ownUserId);
 }
@@ -2,15 +2,22 @@ package com.inovapredial.repository;
 
 import com.inovapredial.model.Building;
 import com.inovapredial.model.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSpecificationExecutor<Employee> {
     
-    Optional<Employee> findByIdAndBuilding(UUID id, Building building);
+    List<Employee> findAllByIdInAndBuilding(Collection<UUID> ids, Building building);
+
+    // Detalhe do funcionário: a resposta traz o calendário completo
+    @EntityGraph(attributePaths = "calendar")
+    Optional<Employee> findWithCalendarByIdAndBuilding(UUID id, Building building);
     
     long countByBuildingId(UUID buildingId);
 }
@@ -1,21 +1,41 @@
 package com.inovapredial.repository;
 
+import com.inovapredial.dto.responses.EquipmentPlanResponseDTO;
 import com.inovapredial.model.Building;
 import com.inovapredial.model.Equipment;
 import com.inovapredial.model.EquipmentPlan;
+import com.inovapredial.model.EquipmentPlanId;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface EquipmentPlanRepository extends JpaRepository<EquipmentPlan, com.inovapredial.model.EquipmentPlanId> {
+public interface EquipmentPlanRepository extends JpaRepository<EquipmentPlan, EquipmentPlanId> {
     
     List<EquipmentPlan> findByEquipment(Equipment equipment);
     
     Optional<EquipmentPlan> findByEquipmentIdAndMaintenancePlanId(UUID equipmentId, UUID planId);
+
+    // Marcar como realizado usa a frequência do plano e a resposta traz a identificação do equipamento
+    @EntityGraph(attributePaths = {"equipment", "maintenancePlan"})
+    Optional<EquipmentPlan> findWithEquipmentAndMaintenancePlanById(EquipmentPlanId id);
     
     List<EquipmentPlan> findByEquipmentAndBuilding(Equipment equipment, Building building);
+
+    @Query("""
+            SELECT new com.inovapredial.dto.responses.EquipmentPlanResponseDTO(
+                e.id, e.identification, p.id, p.description, ep.startDate, ep.nextDueDate, ep.realized, ep.building.id)
+            FROM EquipmentPlan ep
+            JOIN ep.equipment e
+            JOIN ep.maintenancePlan p
+            WHERE e.id = :equipmentId AND ep.building.id = :buildingId
+            """)
+    List<EquipmentPlanResponseDTO> findResponsesByEquipmentAndBuilding(@Param("equipmentId") UUID equipmentId,
+                                                                        @Param("buildingId") UUID buildingId);
     
     long countByBuildingId(UUID buildingId);
     
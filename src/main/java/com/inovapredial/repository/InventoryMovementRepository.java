@@ -0,0 +1,84 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.dto.responses.InventoryMovementResponseDTO;
+import com.inovapredial.model.InventoryMovement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, UUID> {
+
+    @Query("""
+            SELECT new com.inovapredial.dto.responses.InventoryMovementResponseDTO(
+                m.id, m.movementType, m.quantity, m.workOrderId, m.occurredAt)
+            FROM InventoryMovement m
+            WHERE m.inventoryId = :inventoryId AND m.occurredAt >= :from AND m.occurredAt < :to
+            ORDER BY m.occurredAt DESC, m.id DESC
+            """)
+    List<InventoryMovementResponseDTO> findResponsesByInventoryId(@Param("inventoryId") UUID inventoryId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    // Saldo em :at = último snapshot até :at + movimentações posteriores a ele até :at
+    @Query(value = """
+        WITH snapshot AS (
+            SELECT s.snapshot_at, s.quantity FROM inventory_stock_snapshot s
+            WHERE s.inventory_id = CAST(:inventoryId AS uuid) AND s.snapshot_at <= :at
+            ORDER BY s.snapshot_at DESC
+            LIMIT 1
+        )
+        SELECT CAST(COALESCE((SELECT quantity FROM snapshot), 0) + COALESCE((
+            SELECT SUM(m.quantity) FROM inventory_movement m
+            WHERE m.inventory_id = CAST(:inventoryId AS uuid) AND m.occurred_at <= :at
+            AND m.occurred_at > COALESCE((SELECT snapshot_at FROM snapshot), CAST('-infinity' AS timestamp))
+        ), 0) AS integer)
+        """, nativeQuery = true)
+    Integer findStockAt(@Param("inventoryId") UUID inventoryId, @Param("at") LocalDateTime at);
+
+    // Relógio do banco, o mesmo que carimba os lançamentos (occurred_at)
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    // Serializa a compactação entre instâncias até o fim da transação
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended('inventory_stock_snapshot', 0))", nativeQuery = true)
+    Integer lockSnapshots();
+
+    // Novo snapshot para cada item com movimentações entre o último snapshot e o corte. O corte é
+    // :cutoff limitado ao início da transação aberta mais antiga: os lançamentos dela levam esse
+    // instante e ainda não são visíveis, então não podem cair antes de um snapshot já gravado.
+    // Requer que o usuário da aplicação enxergue xact_start das demais sessões (mesmo usuário ou pg_read_all_stats)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_stock_snapshot"))
+    @Query(value = """
+        WITH bound AS (
+            SELECT LEAST(CAST(:cutoff AS timestamp), (
+                SELECT CAST(MIN(a.xact_start) AS timestamp) - INTERVAL '1 microsecond'
+                FROM pg_stat_activity a
+                WHERE a.datname = current_database() AND a.backend_type = 'client backend'
+                AND a.pid <> pg_backend_pid() AND a.xact_start IS NOT NULL
+            )) AS cutoff
+        ),
+        last_snapshot AS (
+            SELECT DISTINCT ON (s.inventory_id) s.inventory_id, s.snapshot_at, s.quantity
+            FROM inventory_stock_snapshot s
+            ORDER BY s.inventory_id, s.snapshot_at DESC
+        )
+        INSERT INTO inventory_stock_snapshot (inventory_id, snapshot_at, quantity)
+        SELECT m.inventory_id, b.cutoff, COALESCE(l.quantity, 0) + SUM(m.quantity)
+        FROM inventory_movement m
+        CROSS JOIN bound b
+        LEFT JOIN last_snapshot l ON l.inventory_id = m.inventory_id
+        WHERE m.occurred_at <= b.cutoff
+        AND (l.snapshot_at IS NULL OR m.occurred_at > l.snapshot_at)
+        GROUP BY m.inventory_id, l.quantity, b.cutoff
+        """, nativeQuery = true)
+    int compactSnapshots(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,58 @@
+package com.inovapredial.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Colunas lidas por uma listagem e a montagem do item da resposta a partir delas.
+ * Com a projeção a busca seleciona só o que a resposta usa, sem hidratar a
+ * entidade nem carregar as associações ManyToOne de cada linha.
+ */
+public record ListProjection<T, R>(Class<T> domainClass,
+                                   Function<Root<T>, List<Selection<?>>> selections,
+                                   Function<Object[], R> mapper) {
+
+    // DTO record montado pelo construtor canônico; as colunas seguem a ordem dos componentes
+    public static <T, R extends Record> ListProjection<T, R> ofRecord(Class<T> domainClass, Class<R> recordType,
+                                                                     Function<Root<T>, List<Selection<?>>> selections) {
+        Constructor<R> constructor = canonicalConstructor(recordType);
+        return new ListProjection<>(domainClass, selections, columns -> {
+            try {
+                return constructor.newInstance(columns);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Erro ao montar " + recordType.getSimpleName(), e);
+            }
+        });
+    }
+
+    // A própria entidade, convertida pelo mapper (listagens que ainda não têm projeção);
+    // "fetches" são as associações LAZY que o mapper lê além do id, trazidas por LEFT JOIN FETCH
+    @SuppressWarnings("unchecked")
+    public static <T, R> ListProjection<T, R> ofEntity(Class<T> domainClass, Function<T, R> mapper, String... fetches) {
+        return new ListProjection<>(domainClass, root -> {
+            for (String fetch : fetches) {
+                root.fetch(fetch, JoinType.LEFT);
+            }
+            return List.of(root);
+        }, columns -> mapper.apply((T) columns[0]));
+    }
+
+    private static <R extends Record> Constructor<R> canonicalConstructor(Class<R> recordType) {
+        Class<?>[] types = Arrays.stream(recordType.getRecordComponents())
+                .map(RecordComponent::getType)
+                .toArray(Class<?>[]::new);
+        try {
+            return recordType.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Construtor canônico não encontrado: " + recordType.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.dto.responses.CalendarResponseDTO;
+import com.inovapredial.dto.responses.EquipmentResponseDTO;
+import com.inovapredial.dto.responses.InventoryResponseDTO;
+import com.inovapredial.dto.responses.TaskResponseDTO;
+import com.inovapredial.dto.responses.WorkOrderResponseDTO;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projeções das buscas paginadas. As associações entram apenas pelo id (coluna
+ * de FK, sem join); o calendário do equipamento, que a resposta traz completo,
+ * vem de um LEFT JOIN na mesma consulta.
+ */
+public final class ListProjections {
+
+    public static final ListProjection<WorkOrder, WorkOrderResponseDTO> WORK_ORDER =
+            ListProjection.ofRecord(WorkOrder.class, WorkOrderResponseDTO.class, root -> List.of(
+                    root.get("id"),
+                    root.get("description"),
+                    root.get("openingDate"),
+                    root.get("closingDate"),
+                    root.get("activityStatus"),
+                    root.get("priority"),
+                    root.get("maintenanceType"),
+                    root.get("totalCost"),
+                    root.get("materialCost"),
+                    root.get("laborCost"),
+                    root.get("equipment").get("id"),
+                    root.get("employee").get("id"),
+                    root.get("building").get("id")));
+
+    public static final ListProjection<Task, TaskResponseDTO> TASK =
+            ListProjection.ofRecord(Task.class, TaskResponseDTO.class, root -> List.of(
+                    root.get("id"),
+                    root.get("title"),
+                    root.get("description"),
+                    root.get("reason"),
+                    root.get("activityStatus"),
+                    root.get("estimatedTime"),
+                    root.get("startDate"),
+                    root.get("endDate"),
+                    root.get("timeSpent"),
+                    root.get("cost"),
+                    root.get("workOrder").get("id"),
+                    root.get("employee").get("id"),
+                    root.get("building").get("id")));
+
+    public static final ListProjection<Inventory, InventoryResponseDTO> INVENTORY =
+            ListProjection.ofRecord(Inventory.class, InventoryResponseDTO.class, root -> List.of(
+                    root.get("id"),
+                    root.get("itemType"),
+                    root.get("name"),
+                    root.get("cost"),
+                    root.get("quantity"),
+                    root.get("minimumStock"),
+                    root.get("building").get("id"),
+                    root.get("employee").get("id")));
+
+    public static final ListProjection<Equipment, EquipmentResponseDTO> EQUIPMENT =
+            new ListProjection<>(Equipment.class, root -> {
+                Join<Equipment, Calendar> calendar = root.join("calendar", JoinType.LEFT);
+                return List.of(
+                        root.get("id"),
+                        root.get("identification"),
+                        root.get("description"),
+                        root.get("serialNumber"),
+                        root.get("classification"),
+                        root.get("location"),
+                        root.get("criticality"),
+                        root.get("purchaseDate"),
+                        root.get("warrantyEndDate"),
+                        root.get("price"),
+                        root.get("equipmentStatus"),
+                        root.get("imageUrl"),
+                        root.get("group"),
+                        root.get("model"),
+                        root.get("costCenter"),
+                        root.get("building").get("id"),
+                        calendar.get("id"),
+                        calendar.get("description"),
+                        calendar.get("monday"),
+                        calendar.get("tuesday"),
+                        calendar.get("wednesday"),
+                        calendar.get("thursday"),
+                        calendar.get("friday"),
+                        calendar.get("saturday"),
+                        calendar.get("sunday"),
+                        calendar.get("startTime"),
+                        calendar.get("endTime"),
+                        calendar.get("hasBreak"));
+            }, ListProjections::toEquipmentResponse);
+
+    private ListProjections() {
+    }
+
+    private static EquipmentResponseDTO toEquipmentResponse(Object[] columns) {
+        CalendarResponseDTO calendar = columns[16] == null ? null : new CalendarResponseDTO(
+                (UUID) columns[16],
+                (String) columns[17],
+                (Boolean) columns[18],
+                (Boolean) columns[19],
+                (Boolean) columns[20],
+                (Boolean) columns[21],
+                (Boolean) columns[22],
+                (Boolean) columns[23],
+                (Boolean) columns[24],
+                (LocalTime) columns[25],
+                (LocalTime) columns[26],
+                (Boolean) columns[27]);
+
+        return new EquipmentResponseDTO(
+                (UUID) columns[0],
+                (String) columns[1],
+                (String) columns[2],
+                (String) columns[3],
+                (EquipmentType) columns[4],
+                (String) columns[5],
+                (Criticality) columns[6],
+                (LocalDate) columns[7],
+                (LocalDate) columns[8],
+                (BigDecimal) columns[9],
+                (EquipmentStatus) columns[10],
+                (String) columns[11],
+                (String) columns[12],
+                (String) columns[13],
+                (String) columns[14],
+                calendar,
+                (UUID) columns[15]);
+    }
+}
@@ -0,0 +1,299 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.dto.projection.EquipmentFailureProjection;
+import com.inovapredial.dto.projection.MetricSummaryProjection;
+import com.inovapredial.dto.projection.MonthlyCostProjection;
+import com.inovapredial.dto.projection.TopUsedItemProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consultas de métricas montadas dinamicamente: filtros e limites de data
+ * ausentes são omitidos do SQL, em vez de neutralizados com COALESCE ou
+ * "(:param IS NULL OR ...)", para que o planejador use os índices
+ * (building_id, opening_date) e (building_id, start_date) em range scans.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MetricQueryRepository {
+
+    private final EntityManager entityManager;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    public MetricSummaryProjection findMetricSummary(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate,
+                                                     UUID equipmentId, UUID employeeId, String maintenanceType) {
+        return single(metricSummarySql(buildingId, startDate, endDate, equipmentId, employeeId, maintenanceType),
+            MetricSummaryProjection.class);
+    }
+
+    public List<MonthlyCostProjection> findMonthlyWorkOrderCosts(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        return list(monthlyWorkOrderCostsSql(buildingId, startDate, endDate), MonthlyCostProjection.class);
+    }
+
+    public List<MonthlyCostProjection> findMonthlyTaskCosts(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        return list(monthlyTaskCostsSql(buildingId, startDate, endDate), MonthlyCostProjection.class);
+    }
+
+    public List<TopUsedItemProjection> findTopUsedItems(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        return list(topUsedItemsSql(buildingId, startDate, endDate), TopUsedItemProjection.class);
+    }
+
+    public List<EquipmentFailureProjection> findEquipmentFailures(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        return list(equipmentFailuresSql(buildingId, startDate, endDate), EquipmentFailureProjection.class);
+    }
+
+    // Resumo consolidado das métricas (ordens, tarefas, materiais e equipamentos) em uma única consulta
+    static NativeSql metricSummarySql(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate,
+                                      UUID equipmentId, UUID employeeId, String maintenanceType) {
+        Conditions conditions = new Conditions().param("buildingId", buildingId);
+
+        List<String> workOrderCostFilter = new ArrayList<>();
+        if (equipmentId != null) {
+            workOrderCostFilter.add("w.equipment_id = :equipmentId");
+            conditions.param("equipmentId", equipmentId);
+        }
+        if (employeeId != null) {
+            workOrderCostFilter.add("w.employee_id = :employeeId");
+            conditions.param("employeeId", employeeId);
+        }
+        if (maintenanceType != null) {
+            workOrderCostFilter.add("w.maintenance_type = :maintenanceType");
+            conditions.param("maintenanceType", maintenanceType);
+        }
+
+        List<String> taskCostFilter = new ArrayList<>();
+        if (equipmentId != null) {
+            taskCostFilter.add("two.equipment_id = :equipmentId");
+        }
+        if (employeeId != null) {
+            taskCostFilter.add("t.employee_id = :employeeId");
+        }
+        // O join com a ordem de serviço só é necessário para filtrar o custo das tarefas por equipamento
+        String taskJoin = equipmentId != null ? "LEFT JOIN work_order two ON two.id = t.work_order_id" : "";
+
+        String sql = """
+            WITH wo_all AS (
+                SELECT COUNT(*) AS total_work_orders_all_time
+                FROM work_order w
+                WHERE w.building_id = :buildingId
+            ),
+            wo_summary AS (
+                SELECT COUNT(*) AS total_work_orders,
+                       COUNT(*) FILTER (WHERE w.activity_status = 'COMPLETED') AS completed_work_orders,
+                       COUNT(*) FILTER (WHERE w.activity_status = 'CANCELLED') AS cancelled_work_orders,
+                       COUNT(*) FILTER (WHERE w.activity_status = 'IN_PROGRESS') AS in_progress_work_orders,
+                       COALESCE(SUM(w.total_cost) %s, 0) AS work_order_cost,
+                       AVG(EXTRACT(EPOCH FROM w.closing_date) - EXTRACT(EPOCH FROM w.opening_date))
+                           FILTER (WHERE w.activity_status = 'COMPLETED' AND w.closing_date IS NOT NULL) / 3600 AS average_completion_time_hours,
+                       COUNT(*) FILTER (WHERE w.maintenance_type = 'PREVENTIVE') AS preventive_count,
+                       COALESCE(SUM(w.total_cost) FILTER (WHERE w.maintenance_type = 'PREVENTIVE'), 0) AS preventive_cost,
+                       COALESCE(AVG(w.total_cost) FILTER (WHERE w.maintenance_type = 'PREVENTIVE'), 0) AS preventive_average_cost,
+                       COUNT(*) FILTER (WHERE w.maintenance_type = 'CORRECTIVE') AS corrective_count,
+                       COALESCE(SUM(w.total_cost) FILTER (WHERE w.maintenance_type = 'CORRECTIVE'), 0) AS corrective_cost,
+                       COALESCE(AVG(w.total_cost) FILTER (WHERE w.maintenance_type = 'CORRECTIVE'), 0) AS corrective_average_cost,
+                       COUNT(*) FILTER (WHERE w.maintenance_type = 'PREDICTIVE') AS predictive_count,
+                       COALESCE(SUM(w.total_cost) FILTER (WHERE w.maintenance_type = 'PREDICTIVE'), 0) AS predictive_cost,
+                       COALESCE(AVG(w.total_cost) FILTER (WHERE w.maintenance_type = 'PREDICTIVE'), 0) AS predictive_average_cost
+                FROM work_order w
+                WHERE w.building_id = :buildingId%s
+            ),
+            task_summary AS (
+                SELECT COUNT(*) AS total_tasks,
+                       COALESCE(SUM(t.cost) %s, 0) AS task_cost
+                FROM task t
+                %s
+                WHERE t.building_id = :buildingId%s
+            ),
+            material_summary AS (
+                SELECT COALESCE(SUM(woi.total_cost), 0) AS material_cost
+                FROM work_order mwo
+                JOIN work_order_inventory woi ON woi.work_order_id = mwo.id
+                WHERE mwo.building_id = :buildingId%s
+            ),
+            equipment_summary AS (
+                SELECT COUNT(*) AS total_equipments,
+                       COUNT(*) FILTER (WHERE e.equipment_status = 'ACTIVE') AS active_equipments,
+                       COUNT(*) FILTER (WHERE e.equipment_status = 'INACTIVE') AS inactive_equipments,
+                       COUNT(*) FILTER (WHERE e.equipment_status = 'UNDER_MAINTENANCE') AS under_maintenance_equipments,
+                       COUNT(*) FILTER (WHERE e.criticality = 'HIGH') AS critical_equipments
+                FROM equipment e
+                WHERE e.building_id = :buildingId
+            )
+            SELECT a.total_work_orders_all_time AS totalWorkOrdersAllTime, w.total_work_orders AS totalWorkOrders,
+                   w.completed_work_orders AS completedWorkOrders, w.cancelled_work_orders AS cancelledWorkOrders,
+                   w.in_progress_work_orders AS inProgressWorkOrders, w.work_order_cost AS workOrderCost,
+                   w.average_completion_time_hours AS averageCompletionTimeHours,
+                   w.preventive_count AS preventiveCount, w.preventive_cost AS preventiveCost,
+                   w.preventive_average_cost AS preventiveAverageCost,
+                   w.corrective_count AS correctiveCount, w.corrective_cost AS correctiveCost,
+                   w.corrective_average_cost AS correctiveAverageCost,
+                   w.predictive_count AS predictiveCount, w.predictive_cost AS predictiveCost,
+                   w.predictive_average_cost AS predictiveAverageCost,
+                   t.total_tasks AS totalTasks, t.task_cost AS taskCost,
+                   m.material_cost AS materialCost,
+                   e.total_equipments AS totalEquipments, e.active_equipments AS activeEquipments,
+                   e.inactive_equipments AS inactiveEquipments,
+                   e.under_maintenance_equipments AS underMaintenanceEquipments,
+                   e.critical_equipments AS criticalEquipments
+            FROM wo_all a, wo_summary w, task_summary t, material_summary m, equipment_summary e
+            """.formatted(
+                filterClause(workOrderCostFilter),
+                conditions.dateRange("w.opening_date", startDate, endDate),
+                filterClause(taskCostFilter),
+                taskJoin,
+                conditions.dateRange("t.start_date", startDate, endDate),
+                conditions.dateRange("mwo.opening_date", startDate, endDate));
+
+        return conditions.toSql(sql);
+    }
+
+    // Custos mensais das ordens de serviço
+    static NativeSql monthlyWorkOrderCostsSql(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        Conditions conditions = new Conditions().param("buildingId", buildingId);
+        String sql = """
+            SELECT CAST(EXTRACT(YEAR FROM wo.opening_date) AS integer) AS year,
+                   CAST(EXTRACT(MONTH FROM wo.opening_date) AS integer) AS month,
+                   COALESCE(SUM(wo.total_cost), 0) AS totalCost, COUNT(*) AS workOrderCount
+            FROM work_order wo
+            WHERE wo.building_id = :buildingId%s
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            """.formatted(conditions.dateRange("wo.opening_date", startDate, endDate));
+        return conditions.toSql(sql);
+    }
+
+    // Custos mensais das tarefas
+    static NativeSql monthlyTaskCostsSql(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        Conditions conditions = new Conditions().param("buildingId", buildingId);
+        String sql = """
+            SELECT CAST(EXTRACT(YEAR FROM t.start_date) AS integer) AS year,
+                   CAST(EXTRACT(MONTH FROM t.start_date) AS integer) AS month,
+                   COALESCE(SUM(t.cost), 0) AS totalCost, COUNT(*) AS taskCount
+            FROM task t
+            WHERE t.building_id = :buildingId%s
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            """.formatted(conditions.dateRange("t.start_date", startDate, endDate));
+        return conditions.toSql(sql);
+    }
+
+    // Itens mais utilizados (apenas os que foram realmente usados no período)
+    static NativeSql topUsedItemsSql(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        Conditions conditions = new Conditions().param("buildingId", buildingId);
+        String sql = """
+            SELECT i.id AS itemId, i.name AS itemName, i.item_type AS itemType,
+                   SUM(woi.quantity) AS totalQuantityUsed,
+                   SUM(woi.total_cost) AS totalCost, i.quantity AS currentStock
+            FROM work_order wo
+            JOIN work_order_inventory woi ON woi.work_order_id = wo.id
+            JOIN inventory i ON i.id = woi.inventory_id
+            WHERE wo.building_id = :buildingId
+            AND i.building_id = :buildingId%s
+            GROUP BY i.id, i.name, i.item_type, i.quantity
+            ORDER BY totalQuantityUsed DESC
+            """.formatted(conditions.dateRange("wo.opening_date", startDate, endDate));
+        return conditions.toSql(sql);
+    }
+
+    // MTBF - Métricas de falhas de equipamentos (versão simplificada)
+    static NativeSql equipmentFailuresSql(UUID buildingId, LocalDateTime startDate, LocalDateTime endDate) {
+        Conditions conditions = new Conditions().param("buildingId", buildingId);
+        String sql = """
+            SELECT e.id AS equipmentId, e.description AS equipmentName, e.identification AS equipmentIdentification,
+                   e.criticality AS criticality, COUNT(wo.id) AS failureCount,
+                   CASE
+                       WHEN COUNT(wo.id) > 1 THEN
+                           EXTRACT(EPOCH FROM (MAX(wo.opening_date) - MIN(wo.opening_date)))/86400 / (COUNT(wo.id) - 1)
+                       ELSE NULL
+                   END AS averageDaysBetweenFailures,
+                   MAX(wo.opening_date) AS lastFailureDate
+            FROM equipment e
+            JOIN work_order wo ON wo.equipment_id = e.id
+            AND wo.maintenance_type = 'CORRECTIVE'
+            AND wo.activity_status = 'COMPLETED'%s
+            WHERE e.building_id = :buildingId
+            GROUP BY e.id, e.description, e.identification, e.criticality
+            ORDER BY failureCount DESC
+            """.formatted(conditions.dateRange("wo.opening_date", startDate, endDate));
+        return conditions.toSql(sql);
+    }
+
+    private static String filterClause(List<String> predicates) {
+        return predicates.isEmpty() ? "" : "FILTER (WHERE " + String.join(" AND ", predicates) + ")";
+    }
+
+    private <T> T single(NativeSql nativeSql, Class<T> projection) {
+        List<T> rows = list(nativeSql, projection);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> list(NativeSql nativeSql, Class<T> projection) {
+        Query query = entityManager.createNativeQuery(nativeSql.sql(), Tuple.class);
+        nativeSql.parameters().forEach(query::setParameter);
+
+        List<Tuple> rows = query.getResultList();
+        return rows.stream()
+            .map(row -> toProjection(row, projection))
+            .toList();
+    }
+
+    private <T> T toProjection(Tuple row, Class<T> projection) {
+        // O PostgreSQL devolve os aliases em minúsculas; a busca precisa ignorar a caixa
+        Map<String, Object> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (TupleElement<?> element : row.getElements()) {
+            Object value = row.get(element);
+            values.put(element.getAlias(), value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+        }
+        return projectionFactory.createProjection(projection, values);
+    }
+
+    record NativeSql(String sql, Map<String, Object> parameters) {
+    }
+
+    private static final class Conditions {
+
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        Conditions param(String name, Object value) {
+            parameters.put(name, value);
+            return this;
+        }
+
+        // Limites ausentes não entram no SQL; sem nenhum limite, mantém a exclusão de datas nulas
+        String dateRange(String column, LocalDateTime startDate, LocalDateTime endDate) {
+            StringBuilder clause = new StringBuilder();
+            if (startDate != null) {
+                clause.append(" AND ").append(column).append(" >= :startDate");
+                param("startDate", startDate);
+            }
+            if (endDate != null) {
+                clause.append(" AND ").append(column).append(" <= :endDate");
+                param("endDate", endDate);
+            }
+            if (startDate == null && endDate == null) {
+                clause.append(" AND ").append(column).append(" IS NOT NULL");
+            }
+            return clause.toString();
+        }
+
+        NativeSql toSql(String sql) {
+            return new NativeSql(sql, parameters);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.inovapredial.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimativas de quantidade de linhas a partir das estatísticas do planejador
+ * (EXPLAIN), usadas no lugar de um COUNT quando um total aproximado basta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlannerStatisticsRepository {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_]+");
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+
+    // Linhas estimadas de "table" com "column" = value; sem coluna, a estimativa da tabela inteira
+    public long estimateRows(String table, String column, Object value) {
+        if (!IDENTIFIER.matcher(table).matches() || (column != null && !IDENTIFIER.matcher(column).matches())) {
+            throw new IllegalArgumentException("Identificador inválido: " + table + "." + column);
+        }
+
+        Query query;
+        if (column == null) {
+            query = entityManager.createNativeQuery("EXPLAIN SELECT 1 FROM " + table);
+        } else {
+            query = entityManager.createNativeQuery("EXPLAIN SELECT 1 FROM " + table + " WHERE " + column + " = :value")
+                    .setParameter("value", value);
+        }
+
+        // A primeira linha do plano é o nó raiz, com a estimativa final
+        List<?> plan = query.getResultList();
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
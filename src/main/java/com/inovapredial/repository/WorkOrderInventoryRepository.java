@@ -1,5 +1,6 @@
 package com.inovapredial.repository;
 
+import com.inovapredial.dto.responses.WorkOrderInventoryResponseDTO;
 import com.inovapredial.model.WorkOrder;
 import com.inovapredial.model.WorkOrderInventory;
 import com.inovapredial.model.WorkOrderInventoryId;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,9 +18,20 @@ public interface WorkOrderInventoryRepository extends JpaRepository<WorkOrderInv
     List<WorkOrderInventory> findByWorkOrder(WorkOrder workOrder);
     
     Optional<WorkOrderInventory> findByWorkOrderIdAndInventoryId(UUID workOrderId, UUID inventoryId);
+
+    List<WorkOrderInventory> findByWorkOrderIdAndInventoryIdIn(UUID workOrderId, Collection<UUID> inventoryIds);
     
     @Query("SELECT woi FROM WorkOrderInventory woi WHERE woi.workOrder.id = :workOrderId")
     List<WorkOrderInventory> findByWorkOrderId(@Param("workOrderId") UUID workOrderId);
+
+    @Query("""
+            SELECT new com.inovapredial.dto.responses.WorkOrderInventoryResponseDTO(
+                cast(i.id as String), i.name, woi.quantity, i.cost, woi.totalCost, woi.outputDate)
+            FROM WorkOrderInventory woi
+            JOIN woi.inventory i
+            WHERE woi.workOrder.id = :workOrderId
+            """)
+    List<WorkOrderInventoryResponseDTO> findResponsesByWorkOrderId(@Param("workOrderId") UUID workOrderId);
     
     void deleteByWorkOrderIdAndInventoryId(UUID workOrderId, UUID inventoryId);
 }
@@ -1,19 +1,21 @@
 package com.inovapredial.repository;
 
-import com.inovapredial.dto.projection.MaintenanceTypeMetricProjection;
-import com.inovapredial.dto.projection.MonthlyCostProjection;
 import com.inovapredial.model.Building;
 import com.inovapredial.model.Equipment;
 import com.inovapredial.model.WorkOrder;
 import com.inovapredial.model.enums.ActivityStatus;
-import com.inovapredial.model.enums.MaintenanceType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,96 +23,85 @@ import java.util.UUID;
 public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, JpaSpecificationExecutor<WorkOrder> {
     
     Optional<WorkOrder> findByIdAndBuilding(UUID id, Building building);
+
+    // Criação de tarefas em lote: cada ordem distinta é buscada uma vez
+    List<WorkOrder> findAllByIdInAndBuilding(Collection<UUID> ids, Building building);
+
+    // Atualização: concluir ou cancelar a ordem altera o status do equipamento
+    @EntityGraph(attributePaths = "equipment")
+    Optional<WorkOrder> findWithEquipmentByIdAndBuilding(UUID id, Building building);
     
     boolean existsByEquipmentAndBuildingAndActivityStatus(Equipment equipment, Building building, ActivityStatus activityStatus);
     
     long countByBuildingId(UUID buildingId);
     
-    // Contagem com filtro de data
-    @Query("SELECT COUNT(wo) FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime))")
-    Long countByBuildingIdAndDateRange(@Param("buildingId") UUID buildingId,
-                                        @Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
-    
     long countByEquipmentId(UUID equipmentId);
     
     long countByEmployeeId(UUID employeeId);
 
-    // Métricas de custos
-    @Query("SELECT COALESCE(SUM(wo.totalCost), 0) FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime))")
-    BigDecimal sumTotalCostByBuildingAndDateRange(@Param("buildingId") UUID buildingId,
-                                                  @Param("startDate") LocalDateTime startDate,
-                                                  @Param("endDate") LocalDateTime endDate);
-
-    @Query("SELECT COALESCE(SUM(wo.totalCost), 0) FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime)) " +
-           "AND (:equipmentId IS NULL OR wo.equipment.id = :equipmentId) " +
-           "AND (:employeeId IS NULL OR wo.employee.id = :employeeId) " +
-           "AND (:maintenanceType IS NULL OR wo.maintenanceType = :maintenanceType)")
-    BigDecimal sumTotalCostByFilters(@Param("buildingId") UUID buildingId,
-                                    @Param("startDate") LocalDateTime startDate,
-                                    @Param("endDate") LocalDateTime endDate,
-                                    @Param("equipmentId") UUID equipmentId,
-                                    @Param("employeeId") UUID employeeId,
-                                    @Param("maintenanceType") MaintenanceType maintenanceType);
+    // Variações atômicas do custo: a parcela (materiais ou mão de obra) e o total mudam juntos,
+    // sem reler os itens da ordem e sem sobrescrever variações de outras transações.
+    // Tabela alterada declarada ao Hibernate: sem ela, o comando nativo esvazia todo o cache de segundo nível
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "work_order"))
+    @Query(value = """
+        UPDATE work_order
+        SET material_cost = material_cost + :delta, total_cost = COALESCE(total_cost, 0) + :delta
+        WHERE id = CAST(:id AS uuid)
+        """, nativeQuery = true)
+    int addMaterialCost(@Param("id") UUID id, @Param("delta") BigDecimal delta);
 
-    // Métricas temporais
-    @Query("SELECT EXTRACT(YEAR FROM wo.openingDate) as year, EXTRACT(MONTH FROM wo.openingDate) as month, " +
-           "COALESCE(SUM(wo.totalCost), 0) as totalCost, COUNT(wo) as workOrderCount " +
-           "FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime)) " +
-           "GROUP BY EXTRACT(YEAR FROM wo.openingDate), EXTRACT(MONTH FROM wo.openingDate) " +
-           "ORDER BY year, month")
-    List<MonthlyCostProjection> findMonthlyCostsByBuildingAndDateRange(@Param("buildingId") UUID buildingId,
-                                                                        @Param("startDate") LocalDateTime startDate,
-                                                                        @Param("endDate") LocalDateTime endDate);
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "work_order"))
+    @Query(value = """
+        UPDATE work_order
+        SET labor_cost = labor_cost + :delta, total_cost = COALESCE(total_cost, 0) + :delta
+        WHERE id = CAST(:id AS uuid)
+        """, nativeQuery = true)
+    int addLaborCost(@Param("id") UUID id, @Param("delta") BigDecimal delta);
 
-    // Contagens por tipo de manutenção
-    @Query("SELECT COUNT(wo) FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.maintenanceType = :maintenanceType " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime))")
-    Long countByMaintenanceTypeAndFilters(@Param("buildingId") UUID buildingId,
-                                          @Param("maintenanceType") MaintenanceType maintenanceType,
-                                          @Param("startDate") LocalDateTime startDate,
-                                          @Param("endDate") LocalDateTime endDate);
+    // Serializa a conciliação entre instâncias até o fim da transação
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended('work_order_cost_reconciliation', 0))", nativeQuery = true)
+    Integer lockCostReconciliation();
 
-    // Métricas por tipo de manutenção
-    @Query("SELECT wo.maintenanceType as maintenanceType, COUNT(wo) as count, " +
-           "COALESCE(SUM(wo.totalCost), 0) as totalCost, " +
-           "COALESCE(AVG(wo.totalCost), 0) as averageCost " +
-           "FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime)) " +
-           "GROUP BY wo.maintenanceType")
-    List<MaintenanceTypeMetricProjection> findMaintenanceTypeMetrics(@Param("buildingId") UUID buildingId,
-                                                                    @Param("startDate") LocalDateTime startDate,
-                                                                    @Param("endDate") LocalDateTime endDate);
+    // Ordens cujas parcelas divergem das linhas de origem (materiais e tarefas concluídas)
+    @Query(value = """
+        SELECT wo.id FROM work_order wo
+        LEFT JOIN (
+            SELECT work_order_id, SUM(total_cost) AS cost FROM work_order_inventory GROUP BY work_order_id
+        ) m ON m.work_order_id = wo.id
+        LEFT JOIN (
+            SELECT work_order_id, SUM(cost) AS cost FROM task
+            WHERE activity_status = 'COMPLETED' AND work_order_id IS NOT NULL
+            GROUP BY work_order_id
+        ) l ON l.work_order_id = wo.id
+        WHERE wo.material_cost <> COALESCE(m.cost, 0) OR wo.labor_cost <> COALESCE(l.cost, 0)
+        ORDER BY wo.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findCostDriftIds(@Param("limit") int limit);
 
-    // Contagens por status
-    @Query("SELECT COUNT(wo) FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.activityStatus = :status " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime))")
-    Long countByStatusAndFilters(@Param("buildingId") UUID buildingId,
-                                 @Param("status") ActivityStatus status,
-                                 @Param("startDate") LocalDateTime startDate,
-                                 @Param("endDate") LocalDateTime endDate);
+    // Espera as transações que já alteraram essas ordens: o recálculo seguinte enxerga as linhas delas
+    @Query(value = "SELECT wo.id FROM work_order wo WHERE wo.id IN (:ids) ORDER BY wo.id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockAllByIdIn(@Param("ids") Collection<UUID> ids);
 
-    // Tempo médio de conclusão
-    @Query("SELECT AVG(EXTRACT(EPOCH FROM wo.closingDate) - EXTRACT(EPOCH FROM wo.openingDate))/3600 " +
-           "FROM WorkOrder wo WHERE wo.building.id = :buildingId " +
-           "AND wo.activityStatus = 'COMPLETED' " +
-           "AND wo.closingDate IS NOT NULL " +
-           "AND wo.openingDate >= COALESCE(:startDate, CAST('1900-01-01' AS LocalDateTime)) " +
-           "AND wo.openingDate <= COALESCE(:endDate, CAST('2100-12-31' AS LocalDateTime))")
-    Double calculateAverageCompletionTimeHours(@Param("buildingId") UUID buildingId,
-                                               @Param("startDate") LocalDateTime startDate,
-                                               @Param("endDate") LocalDateTime endDate);
+    // Regrava as parcelas a partir das linhas de origem e corrige o total pela mesma diferença,
+    // preservando a parte do total informada na abertura da ordem
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "work_order"))
+    @Query(value = """
+        UPDATE work_order wo
+        SET material_cost = c.material_cost, labor_cost = c.labor_cost,
+            total_cost = COALESCE(wo.total_cost, 0) + (c.material_cost - wo.material_cost) + (c.labor_cost - wo.labor_cost)
+        FROM (
+            SELECT w.id,
+                   COALESCE((SELECT SUM(woi.total_cost) FROM work_order_inventory woi WHERE woi.work_order_id = w.id), 0) AS material_cost,
+                   COALESCE((SELECT SUM(t.cost) FROM task t
+                             WHERE t.work_order_id = w.id AND t.activity_status = 'COMPLETED'), 0) AS labor_cost
+            FROM work_order w
+            WHERE w.id IN (:ids)
+        ) c
+        WHERE wo.id = c.id AND (wo.material_cost <> c.material_cost OR wo.labor_cost <> c.labor_cost)
+        """, nativeQuery = true)
+    int reconcileCosts(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,82 @@
+package com.inovapredial.security;
+
+import com.inovapredial.event.PrincipalChangedEvent;
+import com.inovapredial.model.OwnUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache dos usuários autenticados, indexado pelo subject do token. Evita buscar
+ * o usuário no banco a cada requisição; as entradas expiram pelo TTL e devem ser
+ * invalidadas quando dados do usuário (senha, perfil) forem alterados.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public PrincipalCache(@Value("${api.security.principal-cache.enabled:true}") boolean enabled,
+                          @Value("${api.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${api.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public OwnUser get(String subject, Function<String, OwnUser> loader) {
+        if (!enabled) {
+            return loader.apply(subject);
+        }
+
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(subject);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.user();
+        }
+
+        OwnUser user = loader.apply(subject);
+        if (principals.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        if (principals.size() < maxEntries) {
+            principals.put(subject, new CachedPrincipal(user, now + ttlMillis));
+        }
+        return user;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        invalidate(event.subject());
+    }
+
+    public void invalidate(String subject) {
+        if (subject != null) {
+            principals.remove(subject);
+        }
+    }
+
+    public void invalidateAll() {
+        principals.clear();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<CachedPrincipal> iterator = principals.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt() <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record CachedPrincipal(OwnUser user, long expiresAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.inovapredial.security;
 
+import com.inovapredial.model.OwnUser;
 import com.inovapredial.repository.OwnUserRepository;
 import com.inovapredial.service.OwnUserService;
 import jakarta.servlet.FilterChain;
@@ -22,6 +23,7 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final OwnUserService ownUserService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -32,7 +34,7 @@ public class SecurityFilter extends OncePerRequestFilter {
             var login = tokenService.validateToken(token);
             if (!login.isEmpty()) {
                 try {
-                    UserDetails user = ownUserService.loadUserByEmail(login);
+                    UserDetails user = principalCache.get(login, email -> (OwnUser) ownUserService.loadUserByEmail(email));
                     var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 } catch (UsernameNotFoundException e) {
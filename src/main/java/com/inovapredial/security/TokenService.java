@@ -1,28 +1,51 @@
 package com.inovapredial.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.inovapredial.model.OwnUser;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "inovapredial-api";
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+
+    // Tokens já verificados, indexados pelo hash SHA-256; expiram no "exp" do próprio token
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int verifiedCacheMaxEntries;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.verifiedCacheMaxEntries = verifiedCacheMaxEntries;
+    }
 
     public String generateToken(OwnUser ownUser){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("inovapredial-api")
+                    .withIssuer(ISSUER)
                     .withSubject(ownUser.getEmail())
                     .withExpiresAt(generateExpirationDate())
                     .sign(algorithm);
@@ -32,19 +55,54 @@ public class TokenService {
     }
 
     public String validateToken(String token){
+        long now = System.currentTimeMillis();
+        String key = verifiedCacheMaxEntries > 0 ? hash(token) : null;
+
+        if (key != null) {
+            VerifiedToken cached = verifiedTokens.get(key);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.subject();
+            }
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("inovapredial-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            if (key != null && decoded.getExpiresAtAsInstant() != null) {
+                remember(key, new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant().toEpochMilli()), now);
+            }
+            return decoded.getSubject();
         }catch (JWTVerificationException exception){
             return "";
         }
     }
 
+    private void remember(String key, VerifiedToken verifiedToken, long now) {
+        if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+            Iterator<VerifiedToken> iterator = verifiedTokens.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt() <= now) {
+                    iterator.remove();
+                }
+            }
+        }
+        if (verifiedTokens.size() < verifiedCacheMaxEntries) {
+            verifiedTokens.put(key, verifiedToken);
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     private Instant generateExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private record VerifiedToken(String subject, long expiresAt) {
+    }
 }
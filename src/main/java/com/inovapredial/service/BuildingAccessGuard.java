@@ -0,0 +1,54 @@
+package com.inovapredial.service;
+
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.repository.BuildingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifica se o usuário pertence ao prédio com uma consulta EXISTS sobre
+ * ownuser_building. O resultado é memorizado durante a requisição, já que a
+ * mesma verificação se repete nas chamadas aninhadas dos serviços.
+ */
+@Component
+@RequiredArgsConstructor
+public class BuildingAccessGuard {
+
+    private static final String MEMO_ATTRIBUTE = BuildingAccessGuard.class.getName() + ".memo";
+
+    private final BuildingRepository buildingRepository;
+
+    public boolean hasAccess(OwnUser user, Building building) {
+        if (user == null || user.getId() == null || building == null || building.getId() == null) {
+            return false;
+        }
+
+        Map<String, Boolean> memo = requestMemo();
+        String key = user.getId() + ":" + building.getId();
+        if (memo == null) {
+            return buildingRepository.existsMembership(building.getId(), user.getId());
+        }
+        return memo.computeIfAbsent(key, k -> buildingRepository.existsMembership(building.getId(), user.getId()));
+    }
+
+    // Fora de uma requisição (ex.: threads de background) a verificação não é memorizada
+    @SuppressWarnings("unchecked")
+    private Map<String, Boolean> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, Boolean> memo = (Map<String, Boolean>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
@@ -0,0 +1,86 @@
+package com.inovapredial.service;
+
+import com.inovapredial.event.BuildingDataChangedEvent;
+import com.inovapredial.exceptions.NotFoundException;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.repository.BuildingDailyMetricRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Mantém o consolidado diário de métricas (building_daily_metrics). Cada
+ * alteração em ordens de serviço, materiais ou tarefas recalcula apenas os
+ * dias afetados do prédio, na mesma transação da escrita.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuildingDailyMetricService {
+
+    private static final LocalDateTime FULL_RANGE_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime FULL_RANGE_END = LocalDateTime.of(2101, 1, 1, 0, 0);
+
+    private final BuildingDailyMetricRepository buildingDailyMetricRepository;
+    private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final SecurityContextService securityContextService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void refresh(UUID buildingId, LocalDateTime... dates) {
+        if (buildingId == null || dates == null) {
+            return;
+        }
+
+        SortedSet<LocalDate> days = new TreeSet<>();
+        Arrays.stream(dates)
+            .filter(Objects::nonNull)
+            .map(LocalDateTime::toLocalDate)
+            .forEach(days::add);
+        if (days.isEmpty()) {
+            return;
+        }
+
+        // Garante que as alterações pendentes sejam visíveis para o recálculo nativo
+        buildingDailyMetricRepository.flush();
+
+        // Chave do prédio em modo compartilhado: a reconstrução completa (exclusiva) não roda em paralelo
+        // e não sobrescreve com um snapshot antigo o dia recalculado aqui.
+        // Os bloqueios por dia são obtidos em ordem de data para evitar deadlock entre transações
+        buildingDailyMetricRepository.lockBuildingShared(buildingId.toString());
+        for (LocalDate day : days) {
+            buildingDailyMetricRepository.lockDay(buildingId + ":" + day);
+            buildingDailyMetricRepository.refreshRange(buildingId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        }
+
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(buildingId));
+    }
+
+    @Transactional
+    public void rebuild(String buildingId) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        buildingDailyMetricRepository.flush();
+        // Exclusivo sobre a chave do prédio: o refreshRange abaixo só começa (e tira seu snapshot)
+        // depois do commit dos recálculos por dia em andamento
+        buildingDailyMetricRepository.lockBuilding(building.getId().toString());
+        buildingDailyMetricRepository.refreshRange(building.getId(), FULL_RANGE_START, FULL_RANGE_END);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+    }
+}
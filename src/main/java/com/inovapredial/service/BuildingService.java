@@ -3,7 +3,9 @@ package com.inovapredial.service;
 import com.inovapredial.dto.BuildingFilterDTO;
 import com.inovapredial.dto.requests.BuildingRequestDTO;
 import com.inovapredial.dto.responses.BuildingResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
+import com.inovapredial.event.EntityChangedEvent;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.mapper.BuildingMapper;
 import com.inovapredial.model.Address;
@@ -11,17 +13,14 @@ import com.inovapredial.model.Building;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.repository.AddressRepository;
 import com.inovapredial.repository.BuildingRepository;
+import com.inovapredial.repository.ListProjection;
 import com.inovapredial.specification.BuildingSpecification;
 import com.inovapredial.validator.BuildingValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -33,11 +32,13 @@ public class BuildingService {
     private final BuildingRepository buildingRepository;
     private final SecurityContextService securityContextService;
     private final BuildingValidator buildingValidator;
+    private final PageQueryExecutor pageQueryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Building create(BuildingRequestDTO dto) {
 
-        OwnUser currentUser = securityContextService.getCurrentUser();
+        OwnUser currentUser = securityContextService.getManagedCurrentUser();
 
         var address = mapper.toEntity(dto.addressRequest());
         var toSave = mapper.toEntity(dto);
@@ -55,7 +56,7 @@ public class BuildingService {
     @Transactional
     public Building update(String id, BuildingRequestDTO dto) {
 
-        var buildingToUpdate = findById(id);
+        var buildingToUpdate = findWithAddressById(id);
 
         mapper.updateBuildingFromRequestDTO(dto, buildingToUpdate);
 
@@ -69,8 +70,10 @@ public class BuildingService {
             } else {
                 mapper.updateAddressFromRequestDTO(dto.addressRequest(), addressToUpdate);
                 addressRepository.save(addressToUpdate);
+                eventPublisher.publishEvent(new EntityChangedEvent(Address.class, addressToUpdate.getId()));
             }
         }
+        eventPublisher.publishEvent(new EntityChangedEvent(Building.class, buildingToUpdate.getId()));
         return buildingRepository.save(buildingToUpdate);
 
     }
@@ -80,6 +83,11 @@ public class BuildingService {
                 .orElseThrow(() -> new NotFoundException("Building not found"));
     }
 
+    public Building findWithAddressById(String id) {
+        return buildingRepository.findWithAddressById(UUID.fromString(id))
+                .orElseThrow(() -> new NotFoundException("Building not found"));
+    }
+
     public  void delete(String id) {
         var building = findById(id);
         
@@ -87,26 +95,14 @@ public class BuildingService {
         buildingValidator.validateBuildingDeletion(building.getId());
         
         buildingRepository.delete(building);
+        eventPublisher.publishEvent(new EntityChangedEvent(Building.class, building.getId()));
     }
 
-    public PageResponseDTO<BuildingResponseDTO> findAllWithFilters(BuildingFilterDTO filter, int page, int size, String sortBy, String sortDirection) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+    public PageResponseDTO<BuildingResponseDTO> findAllWithFilters(BuildingFilterDTO filter, PageQueryDTO pageQuery) {
         var ownUser = securityContextService.getCurrentUser();
-        Page<Building> buildingPage = buildingRepository.findAll(BuildingSpecification.withFilters(filter, ownUser), pageable);
-        
-        List<BuildingResponseDTO> content = buildingPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<BuildingResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(buildingPage.getTotalElements())
-                .totalPages(buildingPage.getTotalPages())
-                .hasNext(buildingPage.hasNext())
-                .hasPrevious(buildingPage.hasPrevious())
-                .build();
+        // A estimativa do total parte dos vínculos do usuário em ownuser_building
+        var scope = new PageQueryExecutor.Scope("ownuser_building", "ownuser_id", ownUser.getId());
+        return pageQueryExecutor.findAll(ListProjection.ofEntity(Building.class, mapper::toResponseDTO, "address"), scope,
+                BuildingSpecification.withFilters(filter, ownUser), pageQuery);
     }
 }
@@ -0,0 +1,239 @@
+package com.inovapredial.service;
+
+import com.inovapredial.event.BuildingDataChangedEvent;
+import com.inovapredial.event.EntityChangedEvent;
+import com.inovapredial.event.PrincipalChangedEvent;
+import com.inovapredial.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Invalidação dos caches locais (usuários autenticados, entidades e métricas) entre as
+ * instâncias da API via LISTEN/NOTIFY do PostgreSQL. Cada alteração gera um NOTIFY na
+ * própria transação, que o banco só entrega após o commit; cada instância mantém uma
+ * conexão dedicada em LISTEN e descarta as entradas recebidas.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final String PRINCIPAL = "principal";
+    private static final String ENTITY = "entity";
+    private static final String METRICS = "metrics";
+    private static final String SEPARATOR = "|";
+
+    // Identifica esta instância: as próprias notificações já foram aplicadas localmente
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final PrincipalCache principalCache;
+    private final EntityCache entityCache;
+    private final MetricResultCache metricResultCache;
+    private final boolean enabled;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile String lastError;
+    private Thread listener;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                PrincipalCache principalCache,
+                                EntityCache entityCache,
+                                MetricResultCache metricResultCache,
+                                @Value("${api.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${api.cache.invalidation.channel:cache_invalidation}") String channel,
+                                @Value("${api.cache.invalidation.poll-timeout-ms:500}") int pollTimeoutMs,
+                                @Value("${api.cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        // LISTEN não aceita parâmetro: o canal entra no comando como identificador
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.principalCache = principalCache;
+        this.entityCache = entityCache;
+        this.metricResultCache = metricResultCache;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        if (event.subject() != null) {
+            notify(PRINCIPAL, event.subject());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        notify(ENTITY, event.entityType().getName() + SEPARATOR + event.id());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBuildingDataChanged(BuildingDataChangedEvent event) {
+        if (event.buildingId() != null) {
+            notify(METRICS, event.buildingId().toString());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    // Última falha da escuta (conexão ou mensagem), para o health check
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(pollTimeoutMs * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Dentro de uma transação o NOTIFY usa a conexão dela: descartado no rollback, entregue no commit
+    private void notify(String type, String key) {
+        if (enabled) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, nodeId + SEPARATOR + type + SEPARATOR + key);
+        }
+    }
+
+    private void listen() {
+        int failedAttempts = 0;
+        while (running) {
+            // Conexão própria, fora do pool: fica presa ao LISTEN enquanto a aplicação roda
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                // Notificações enviadas antes do LISTEN (ou com a conexão caída) não chegam
+                evictAll();
+                listening = true;
+                if (failedAttempts > 0) {
+                    log.info("Cache invalidation listener reconnected to channel {} after {} failed attempt(s)",
+                            channel, failedAttempts);
+                    failedAttempts = 0;
+                } else {
+                    log.info("Cache invalidation listener started on channel {}", channel);
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                lastError = e.toString();
+                if (!running) {
+                    break;
+                }
+                // Pilha completa só na primeira falha; as tentativas seguintes registram apenas a causa
+                if (failedAttempts++ == 0) {
+                    log.warn("Cache invalidation listener on channel {} failed; local caches may go stale until it reconnects",
+                            channel, e);
+                } else {
+                    log.warn("Cache invalidation listener reconnect attempt {} failed: {}", failedAttempts, e.toString());
+                }
+                sleep(reconnectDelayMs);
+            }
+        }
+        listening = false;
+    }
+
+    private void apply(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            switch (parts[1]) {
+                case PRINCIPAL -> principalCache.invalidate(parts[2]);
+                case METRICS -> metricResultCache.invalidateBuilding(UUID.fromString(parts[2]));
+                case ENTITY -> {
+                    String[] entity = parts[2].split("\\" + SEPARATOR, 2);
+                    entityCache.evict(Class.forName(entity[0]), UUID.fromString(entity[1]));
+                }
+                default -> {
+                    // Tipo desconhecido (instância com outra versão da API): ignorado
+                }
+            }
+        } catch (ClassNotFoundException | RuntimeException e) {
+            // Mensagem malformada ou de outra versão não derruba a escuta; o TTL das entradas cobre o caso
+            lastError = e.toString();
+            log.warn("Ignoring cache invalidation message {}: {}", payload, e.toString());
+        }
+    }
+
+    private void evictAll() {
+        principalCache.invalidateAll();
+        entityCache.evictAll();
+        metricResultCache.invalidateAll();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.inovapredial.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado da escuta de invalidações entre instâncias (componente "cacheInvalidation" do
+ * /actuator/health). Sem a conexão em LISTEN esta instância não recebe as alterações das
+ * outras e pode servir dados antigos dos caches locais até o TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationHealthIndicator implements HealthIndicator {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    public Health health() {
+        if (!cacheInvalidationBus.isEnabled()) {
+            return Health.unknown().withDetail("enabled", false).build();
+        }
+
+        Health.Builder builder = cacheInvalidationBus.isListening() ? Health.up() : Health.down();
+        builder.withDetail("channel", cacheInvalidationBus.getChannel());
+        if (cacheInvalidationBus.getLastError() != null) {
+            builder.withDetail("lastError", cacheInvalidationBus.getLastError());
+        }
+        return builder.build();
+    }
+}
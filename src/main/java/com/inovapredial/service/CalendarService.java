@@ -2,12 +2,14 @@ package com.inovapredial.service;
 
 import com.inovapredial.dto.requests.CalendarRequestDTO;
 import com.inovapredial.dto.responses.CalendarResponseDTO;
+import com.inovapredial.event.EntityChangedEvent;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.mapper.CalendarMapper;
 import com.inovapredial.model.Calendar;
 import com.inovapredial.repository.CalendarRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ public class CalendarService {
 
     private final CalendarRepository calendarRepository;
     private final CalendarMapper calendarMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Calendar createOrUpdateCalendar(CalendarRequestDTO dto) {
@@ -27,6 +30,7 @@ public class CalendarService {
             return calendarRepository.findById(dto.id())
                     .map(existingCalendar -> {
                         calendarMapper.updateCalendarFromRequestDTO(dto, existingCalendar);
+                        eventPublisher.publishEvent(new EntityChangedEvent(Calendar.class, existingCalendar.getId()));
                         return calendarRepository.save(existingCalendar);
                     })
                     .orElseGet(() -> {
@@ -58,12 +62,14 @@ public class CalendarService {
             throw new NotFoundException("Calendar not found");
         }
         calendarRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Calendar.class, id));
     }
 
     @Transactional
     public Calendar update(UUID id, CalendarRequestDTO dto) {
         Calendar existingCalendar = findById(id);
         calendarMapper.updateCalendarFromRequestDTO(dto, existingCalendar);
+        eventPublisher.publishEvent(new EntityChangedEvent(Calendar.class, id));
         return calendarRepository.save(existingCalendar);
     }
 
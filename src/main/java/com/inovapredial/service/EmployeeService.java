@@ -1,9 +1,11 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.EmployeeFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.EmployeeRequestDTO;
 import com.inovapredial.dto.responses.EmployeeResponseDTO;
+import com.inovapredial.event.EntityChangedEvent;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.mapper.EmployeeMapper;
 import com.inovapredial.model.Building;
@@ -11,18 +13,16 @@ import com.inovapredial.model.Calendar;
 import com.inovapredial.model.Employee;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.repository.EmployeeRepository;
+import com.inovapredial.repository.ListProjection;
 import com.inovapredial.specification.EmployeeSpecification;
+import com.inovapredial.specification.TenantSpecification;
 import com.inovapredial.validator.EmployeeValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -32,9 +32,12 @@ public class EmployeeService {
     private final EmployeeMapper mapper;
     private final EmployeeRepository employeeRepository;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final CalendarService calendarService;
     private final SecurityContextService securityContextService;
     private final EmployeeValidator employeeValidator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Employee create(EmployeeRequestDTO dto, String buildingId) {
@@ -42,7 +45,7 @@ public class EmployeeService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -63,7 +66,7 @@ public class EmployeeService {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -79,6 +82,7 @@ public class EmployeeService {
             employeeToUpdate.setCalendar(null);
         }
 
+        eventPublisher.publishEvent(new EntityChangedEvent(Employee.class, employeeToUpdate.getId()));
         return employeeRepository.save(employeeToUpdate);
     }
 
@@ -87,11 +91,26 @@ public class EmployeeService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        return employeeRepository.findByIdAndBuilding(UUID.fromString(id), building)
+        // Busca pela chave primária (servida pelo cache de segundo nível) e confere o prédio
+        return employeeRepository.findById(UUID.fromString(id))
+                .filter(employee -> employee.getBuilding().getId().equals(building.getId()))
+                .orElseThrow(() -> new NotFoundException("Employee not found"));
+    }
+
+    public Employee findWithCalendarByIdAndBuilding(String id, String buildingId) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        return employeeRepository.findWithCalendarByIdAndBuilding(UUID.fromString(id), building)
                 .orElseThrow(() -> new NotFoundException("Employee not found"));
     }
 
@@ -99,40 +118,24 @@ public class EmployeeService {
         var employee = findByIdAndBuilding(id, buildingId);
         employeeValidator.validateEmployeeDeletion(employee.getId());
         employeeRepository.delete(employee);
+        eventPublisher.publishEvent(new EntityChangedEvent(Employee.class, employee.getId()));
     }
 
-    public PageResponseDTO<EmployeeResponseDTO> findAllWithFilters(EmployeeFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<EmployeeResponseDTO> findAllWithFilters(EmployeeFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
-
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
         
         // Criar specification que inclui filtro por building
-        Specification<Employee> spec = EmployeeSpecification.withFilters(filter)
-                .and((root, query, criteriaBuilder) -> 
-                    criteriaBuilder.equal(root.get("building"), building));
+        Specification<Employee> spec = TenantSpecification.<Employee>ofBuilding(building)
+                .and(EmployeeSpecification.withFilters(filter));
 
-        Page<Employee> employeePage = employeeRepository.findAll(spec, pageable);
-        
-        List<EmployeeResponseDTO> content = employeePage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<EmployeeResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(employeePage.getTotalElements())
-                .totalPages(employeePage.getTotalPages())
-                .hasNext(employeePage.hasNext())
-                .hasPrevious(employeePage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjection.ofEntity(Employee.class, mapper::toResponseDTO, "calendar"),
+                PageQueryExecutor.Scope.of(Employee.class, "building_id", building.getId()), spec, pageQuery);
     }
 }
 
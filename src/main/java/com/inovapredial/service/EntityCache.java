@@ -0,0 +1,73 @@
+package com.inovapredial.service;
+
+import com.inovapredial.dto.responses.EntityCacheStatsDTO;
+import com.inovapredial.event.EntityChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível das entidades lidas em quase toda requisição (prédio, endereço,
+ * calendário, funcionário e plano de manutenção). Descarta a entrada alterada após o
+ * commit e lê as estatísticas das regiões publicadas pelo provedor JCache via JMX.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCache {
+
+    // MBeans de estatísticas definidos pela especificação JCache, qualquer que seja o provedor
+    private static final String STATISTICS_MBEANS = "javax.cache:type=CacheStatistics,*";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        evict(event.entityType(), event.id());
+    }
+
+    public void evict(Class<?> entityType, UUID id) {
+        entityManagerFactory.getCache().evict(entityType, id);
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    public List<EntityCacheStatsDTO> stats() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            return server.queryNames(new ObjectName(STATISTICS_MBEANS), null).stream()
+                    .map(name -> stats(server, name))
+                    .sorted(Comparator.comparing(EntityCacheStatsDTO::region))
+                    .toList();
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not read cache statistics", e);
+        }
+    }
+
+    private static EntityCacheStatsDTO stats(MBeanServer server, ObjectName name) {
+        try {
+            long hits = (Long) server.getAttribute(name, "CacheHits");
+            long misses = (Long) server.getAttribute(name, "CacheMisses");
+            long lookups = hits + misses;
+            return new EntityCacheStatsDTO(
+                    name.getKeyProperty("Cache"),
+                    hits,
+                    misses,
+                    lookups == 0 ? 0 : (double) hits / lookups,
+                    (Long) server.getAttribute(name, "CachePuts"),
+                    (Long) server.getAttribute(name, "CacheEvictions"));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not read cache statistics", e);
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class EquipmentPlanService {
     private final EquipmentService equipmentService;
     private final MaintenancePlanService maintenancePlanService;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
     private final SecurityContextService securityContextService;
 
     @Transactional
@@ -37,7 +38,7 @@ public class EquipmentPlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -79,7 +80,7 @@ public class EquipmentPlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -107,7 +108,7 @@ public class EquipmentPlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -116,7 +117,7 @@ public class EquipmentPlanService {
         id.setEquipmentId(UUID.fromString(equipmentId));
         id.setPlanId(UUID.fromString(planId));
 
-        EquipmentPlan equipmentPlan = equipmentPlanRepository.findById(id)
+        EquipmentPlan equipmentPlan = equipmentPlanRepository.findWithEquipmentAndMaintenancePlanById(id)
                 .orElseThrow(() -> new NotFoundException("Relacionamento equipamento-plano não encontrado"));
 
         // Verificar se pertence ao building correto
@@ -143,19 +144,15 @@ public class EquipmentPlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
         // Buscar equipamento
         Equipment equipment = equipmentService.findByIdAndBuilding(equipmentId, buildingId);
 
-        // Buscar todos os planos associados ao equipamento no building
-        List<EquipmentPlan> equipmentPlans = equipmentPlanRepository.findByEquipmentAndBuilding(equipment, building);
-
-        return equipmentPlans.stream()
-                .map(equipmentPlanMapper::toResponseDTO)
-                .toList();
+        // Buscar todos os planos associados ao equipamento no building, já projetados no DTO
+        return equipmentPlanRepository.findResponsesByEquipmentAndBuilding(equipment.getId(), building.getId());
     }
 }
 
@@ -3,6 +3,7 @@ package com.inovapredial.service;
 import com.inovapredial.dto.EquipmentFilterDTO;
 import com.inovapredial.dto.requests.EquipmentRequestDTO;
 import com.inovapredial.dto.responses.EquipmentResponseDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.mapper.EquipmentMapper;
@@ -11,18 +12,17 @@ import com.inovapredial.model.Calendar;
 import com.inovapredial.model.Equipment;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.repository.EquipmentRepository;
+import com.inovapredial.repository.ListProjections;
 import com.inovapredial.specification.EquipmentSpecification;
+import com.inovapredial.specification.TenantSpecification;
 import com.inovapredial.validator.EquipmentValidator;
+import com.inovapredial.event.BuildingDataChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -32,9 +32,12 @@ public class EquipmentService {
     private final EquipmentMapper mapper;
     private final EquipmentRepository equipmentRepository;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final CalendarService calendarService;
     private final SecurityContextService securityContextService;
     private final EquipmentValidator equipmentValidator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Equipment create(EquipmentRequestDTO dto, String buildingId) {
@@ -42,7 +45,7 @@ public class EquipmentService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -59,7 +62,9 @@ public class EquipmentService {
             toSave.setCalendar(calendar);
         }
 
-        return equipmentRepository.save(toSave);
+        Equipment saved = equipmentRepository.save(toSave);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+        return saved;
     }
 
     @Transactional
@@ -67,7 +72,7 @@ public class EquipmentService {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -86,7 +91,9 @@ public class EquipmentService {
             equipmentToUpdate.setCalendar(null);
         }
 
-        return equipmentRepository.save(equipmentToUpdate);
+        Equipment saved = equipmentRepository.save(equipmentToUpdate);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+        return saved;
     }
 
     public Equipment findByIdAndBuilding(String id, String buildingId) {
@@ -94,7 +101,7 @@ public class EquipmentService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -102,6 +109,19 @@ public class EquipmentService {
                 .orElseThrow(() -> new NotFoundException("Equipment not found"));
     }
 
+    public Equipment findWithCalendarByIdAndBuilding(String id, String buildingId) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        return equipmentRepository.findWithCalendarByIdAndBuilding(UUID.fromString(id), building)
+                .orElseThrow(() -> new NotFoundException("Equipment not found"));
+    }
+
     public void delete(String id, String buildingId) {
         var equipment = findByIdAndBuilding(id, buildingId);
         
@@ -109,39 +129,23 @@ public class EquipmentService {
         equipmentValidator.validateEquipmentDeletion(equipment.getId());
         
         equipmentRepository.delete(equipment);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(equipment.getBuilding().getId()));
     }
 
-    public PageResponseDTO<EquipmentResponseDTO> findAllWithFilters(EquipmentFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<EquipmentResponseDTO> findAllWithFilters(EquipmentFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
-
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
         
         // Criar specification que inclui filtro por building
-        Specification<Equipment> spec = EquipmentSpecification.withFilters(filter, currentUser)
-                .and((root, query, criteriaBuilder) -> 
-                    criteriaBuilder.equal(root.get("building"), building));
+        Specification<Equipment> spec = TenantSpecification.<Equipment>ofBuilding(building)
+                .and(EquipmentSpecification.withFilters(filter, currentUser));
 
-        Page<Equipment> equipmentPage = equipmentRepository.findAll(spec, pageable);
-        
-        List<EquipmentResponseDTO> content = equipmentPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<EquipmentResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(equipmentPage.getTotalElements())
-                .totalPages(equipmentPage.getTotalPages())
-                .hasNext(equipmentPage.hasNext())
-                .hasPrevious(equipmentPage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjections.EQUIPMENT,
+                PageQueryExecutor.Scope.of(Equipment.class, "building_id", building.getId()), spec, pageQuery);
     }
 }
@@ -1,29 +1,38 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.InventoryFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.InventoryRequestDTO;
+import com.inovapredial.dto.responses.InventoryMovementResponseDTO;
 import com.inovapredial.dto.responses.InventoryResponseDTO;
+import com.inovapredial.dto.responses.InventoryStockResponseDTO;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.exceptions.InsufficientStockException;
 import com.inovapredial.mapper.InventoryMapper;
 import com.inovapredial.model.Building;
 import com.inovapredial.model.Employee;
 import com.inovapredial.model.Inventory;
+import com.inovapredial.model.InventoryMovement;
 import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.MovementType;
 import com.inovapredial.repository.EmployeeRepository;
+import com.inovapredial.repository.InventoryMovementRepository;
 import com.inovapredial.repository.InventoryRepository;
+import com.inovapredial.repository.ListProjections;
 import com.inovapredial.specification.InventorySpecification;
+import com.inovapredial.specification.TenantSpecification;
+import com.inovapredial.event.BuildingDataChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SortedMap;
 import java.util.UUID;
 
 @Service
@@ -32,10 +41,14 @@ public class InventoryService {
 
     private final InventoryMapper mapper;
     private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository inventoryMovementRepository;
     private final EmployeeService  employeeService;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final SecurityContextService securityContextService;
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Inventory create(InventoryRequestDTO dto, String buildingId) {
@@ -43,7 +56,7 @@ public class InventoryService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -56,7 +69,10 @@ public class InventoryService {
             toSave.setEmployee(employee);
         }
 
-        return inventoryRepository.save(toSave);
+        Inventory saved = inventoryRepository.save(toSave);
+        recordMovement(saved.getId(), building.getId(), MovementType.RECEIPT, quantityOf(saved), null);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+        return saved;
     }
 
     @Transactional
@@ -65,11 +81,12 @@ public class InventoryService {
         Building building = buildingService.findById(buildingId);
         
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
         var inventoryToUpdate = findByIdAndBuilding(id, buildingId);
+        int previousQuantity = quantityOf(inventoryToUpdate);
 
         mapper.updateInventoryFromRequestDTO(dto, inventoryToUpdate);
         
@@ -81,7 +98,11 @@ public class InventoryService {
             inventoryToUpdate.setEmployee(null);
         }
 
-        return inventoryRepository.save(inventoryToUpdate);
+        Inventory saved = inventoryRepository.save(inventoryToUpdate);
+        // Alteração manual do saldo entra no razão como ajuste
+        recordMovement(saved.getId(), building.getId(), MovementType.ADJUSTMENT, quantityOf(saved) - previousQuantity, null);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+        return saved;
     }
 
     public Inventory findByIdAndBuilding(String id, String buildingId) {
@@ -89,7 +110,7 @@ public class InventoryService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -97,85 +118,100 @@ public class InventoryService {
                 .orElseThrow(() -> new NotFoundException("Inventory not found"));
     }
 
+    @Transactional
     public void delete(String id, String buildingId) {
         var inventory = findByIdAndBuilding(id, buildingId);
+        // O histórico do item permanece no razão, encerrado com a baixa do saldo restante
+        recordMovement(inventory.getId(), inventory.getBuilding().getId(), MovementType.CLOSING, -quantityOf(inventory), null);
         inventoryRepository.delete(inventory);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(inventory.getBuilding().getId()));
     }
 
-    public PageResponseDTO<InventoryResponseDTO> findAllWithFilters(InventoryFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<InventoryResponseDTO> findAllWithFilters(InventoryFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
-
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
         
         // Criar specification que inclui filtro por building
-        Specification<Inventory> spec = InventorySpecification.withFilters(filter, currentUser)
-                .and((root, query, criteriaBuilder) -> 
-                    criteriaBuilder.equal(root.get("building"), building));
+        Specification<Inventory> spec = TenantSpecification.<Inventory>ofBuilding(building)
+                .and(InventorySpecification.withFilters(filter, currentUser));
 
-        Page<Inventory> inventoryPage = inventoryRepository.findAll(spec, pageable);
-        
-        List<InventoryResponseDTO> content = inventoryPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<InventoryResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(inventoryPage.getTotalElements())
-                .totalPages(inventoryPage.getTotalPages())
-                .hasNext(inventoryPage.hasNext())
-                .hasPrevious(inventoryPage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjections.INVENTORY,
+                PageQueryExecutor.Scope.of(Inventory.class, "building_id", building.getId()), spec, pageQuery);
     }
 
     @Transactional
-    public void reduceStock(String inventoryId, Integer quantity, String buildingId) {
+    public void reduceStock(String inventoryId, Integer quantity, String buildingId, UUID workOrderId) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        Inventory inventory = findByIdAndBuilding(inventoryId, buildingId);
-
-        // Verificar se há estoque suficiente
-        if (inventory.getQuantity() < quantity) {
+        // Baixa condicional em um único UPDATE: saques concorrentes não perdem atualização nem negativam o saldo
+        int updated = inventoryRepository.decrementStock(UUID.fromString(inventoryId), building.getId(), quantity);
+        if (updated == 0) {
+            Integer available = inventoryRepository.findQuantityByIdAndBuildingId(UUID.fromString(inventoryId), building.getId())
+                .orElseThrow(() -> new NotFoundException("Inventory not found"));
             throw new InsufficientStockException(
                 String.format("Estoque insuficiente. Disponível: %d, Solicitado: %d", 
-                    inventory.getQuantity(), quantity)
+                    available, quantity)
             );
         }
-
-        // Reduzir o estoque
-        inventory.setQuantity(inventory.getQuantity() - quantity);
-        inventoryRepository.save(inventory);
+        recordMovement(UUID.fromString(inventoryId), building.getId(), MovementType.WITHDRAWAL, -quantity, workOrderId);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
     }
 
     @Transactional
-    public void restoreStock(String inventoryId, Integer quantity, String buildingId) {
+    public void restoreStock(String inventoryId, Integer quantity, String buildingId, UUID workOrderId) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        Inventory inventory = findByIdAndBuilding(inventoryId, buildingId);
+        // Restaurar o estoque com incremento no próprio banco
+        if (inventoryRepository.incrementStock(UUID.fromString(inventoryId), building.getId(), quantity) == 0) {
+            throw new NotFoundException("Inventory not found");
+        }
+        recordMovement(UUID.fromString(inventoryId), building.getId(), MovementType.RESTORE, quantity, workOrderId);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+    }
+
+    // Baixa em lote, tudo ou nada, na transação de quem chama (que já verificou o acesso ao prédio):
+    // os itens ficam bloqueados em ordem de id e a falta de qualquer um cancela a baixa inteira
+    List<Inventory> reduceStock(Building building, SortedMap<UUID, Integer> quantities, UUID workOrderId) {
+        List<Inventory> items = inventoryRepository.findAllForUpdate(quantities.keySet(), building.getId());
+        if (items.size() != quantities.size()) {
+            throw new NotFoundException("Inventory not found");
+        }
+
+        List<String> shortages = items.stream()
+            .filter(item -> quantityOf(item) < quantities.get(item.getId()))
+            .map(item -> String.format("%s (disponível: %d, solicitado: %d)",
+                item.getName(), quantityOf(item), quantities.get(item.getId())))
+            .toList();
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException("Estoque insuficiente: " + String.join(", ", shortages));
+        }
 
-        // Restaurar o estoque
-        inventory.setQuantity(inventory.getQuantity() + quantity);
-        inventoryRepository.save(inventory);
+        List<InventoryMovement> movements = new ArrayList<>();
+        for (Inventory item : items) {
+            int quantity = quantities.get(item.getId());
+            item.setQuantity(quantityOf(item) - quantity);
+            movements.add(movement(item.getId(), building.getId(), MovementType.WITHDRAWAL, -quantity, workOrderId));
+        }
+        inventoryMovementRepository.saveAll(movements);
+        eventPublisher.publishEvent(new BuildingDataChangedEvent(building.getId()));
+        return items;
     }
 
     public Integer getAvailableStock(String inventoryId, String buildingId) {
@@ -183,12 +219,74 @@ public class InventoryService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        Inventory inventory = findByIdAndBuilding(inventoryId, buildingId);
-        return inventory.getQuantity();
+        return inventoryRepository.findQuantityByIdAndBuildingId(UUID.fromString(inventoryId), building.getId())
+                .orElseThrow(() -> new NotFoundException("Inventory not found"));
     }
-}
 
+    // Saldo no instante informado (ou atual), derivado do razão: snapshot mais a cauda de movimentações
+    public InventoryStockResponseDTO getStockAt(String inventoryId, String buildingId, LocalDateTime at) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        UUID id = UUID.fromString(inventoryId);
+        inventoryRepository.findQuantityByIdAndBuildingId(id, building.getId())
+                .orElseThrow(() -> new NotFoundException("Inventory not found"));
+
+        // Lançamentos levam o relógio do banco: o saldo atual usa o mesmo relógio
+        LocalDateTime instant = at != null ? at : inventoryMovementRepository.findDatabaseTime();
+        return new InventoryStockResponseDTO(id, instant, inventoryMovementRepository.findStockAt(id, instant));
+    }
+
+    public List<InventoryMovementResponseDTO> getMovements(String inventoryId, String buildingId,
+                                                           LocalDateTime from, LocalDateTime to) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        UUID id = UUID.fromString(inventoryId);
+        inventoryRepository.findQuantityByIdAndBuildingId(id, building.getId())
+                .orElseThrow(() -> new NotFoundException("Inventory not found"));
+
+        LocalDateTime end = to != null ? to : inventoryMovementRepository.findDatabaseTime().plusSeconds(1);
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior à data final");
+        }
+        return inventoryMovementRepository.findResponsesByInventoryId(id, start, end);
+    }
+
+    // Lançamento no razão, na mesma transação da alteração do saldo
+    private void recordMovement(UUID inventoryId, UUID buildingId, MovementType type, int quantity, UUID workOrderId) {
+        if (quantity == 0) {
+            return;
+        }
+        inventoryMovementRepository.save(movement(inventoryId, buildingId, type, quantity, workOrderId));
+    }
+
+    private static InventoryMovement movement(UUID inventoryId, UUID buildingId, MovementType type, int quantity, UUID workOrderId) {
+        return InventoryMovement.builder()
+                .inventoryId(inventoryId)
+                .buildingId(buildingId)
+                .movementType(type)
+                .quantity(quantity)
+                .workOrderId(workOrderId)
+                .build();
+    }
+
+    private static int quantityOf(Inventory inventory) {
+        return inventory.getQuantity() != null ? inventory.getQuantity() : 0;
+    }
+}
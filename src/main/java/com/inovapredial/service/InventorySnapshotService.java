@@ -0,0 +1,48 @@
+package com.inovapredial.service;
+
+import com.inovapredial.repository.InventoryMovementRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compacta periodicamente o razão de estoque em snapshots por item, para que o saldo
+ * (atual ou em um instante passado) seja o snapshot mais a cauda curta de movimentações.
+ * O corte fica settle-seconds atrás do relógio do banco e nunca passa do início da
+ * transação aberta mais antiga: movimentações ainda não confirmadas não ficam de fora
+ * de um snapshot já gravado.
+ */
+@Service
+public class InventorySnapshotService {
+
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final boolean enabled;
+    private final long settleSeconds;
+
+    public InventorySnapshotService(InventoryMovementRepository inventoryMovementRepository,
+                                    @Value("${api.inventory.snapshot.enabled:true}") boolean enabled,
+                                    @Value("${api.inventory.snapshot.settle-seconds:300}") long settleSeconds) {
+        this.inventoryMovementRepository = inventoryMovementRepository;
+        this.enabled = enabled;
+        this.settleSeconds = settleSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${api.inventory.snapshot.interval-ms:3600000}",
+               initialDelayString = "${api.inventory.snapshot.interval-ms:3600000}")
+    @Transactional
+    public void scheduledCompaction() {
+        if (enabled) {
+            compact(inventoryMovementRepository.findDatabaseTime().minusSeconds(settleSeconds));
+        }
+    }
+
+    // Retorna quantos itens receberam um novo snapshot
+    @Transactional
+    public int compact(LocalDateTime cutoff) {
+        inventoryMovementRepository.lockSnapshots();
+        return inventoryMovementRepository.compactSnapshots(cutoff);
+    }
+}
@@ -1,26 +1,26 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.MaintenancePlanFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.MaintenancePlanRequestDTO;
 import com.inovapredial.dto.responses.MaintenancePlanResponseDTO;
+import com.inovapredial.event.EntityChangedEvent;
 import com.inovapredial.exceptions.NotFoundException;
 import com.inovapredial.mapper.MaintenancePlanMapper;
 import com.inovapredial.model.Building;
 import com.inovapredial.model.MaintenancePlan;
 import com.inovapredial.model.OwnUser;
+import com.inovapredial.repository.ListProjection;
 import com.inovapredial.repository.MaintenancePlanRepository;
 import com.inovapredial.specification.MaintenancePlanSpecification;
+import com.inovapredial.specification.TenantSpecification;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -30,7 +30,10 @@ public class MaintenancePlanService {
     private final MaintenancePlanMapper mapper;
     private final MaintenancePlanRepository maintenancePlanRepository;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final SecurityContextService securityContextService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MaintenancePlan create(MaintenancePlanRequestDTO dto, String buildingId) {
@@ -38,7 +41,7 @@ public class MaintenancePlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -55,7 +58,7 @@ public class MaintenancePlanService {
         Building building = buildingService.findById(buildingId);
         
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -63,6 +66,7 @@ public class MaintenancePlanService {
 
         mapper.updateMaintenancePlanFromRequestDTO(dto, maintenancePlanToUpdate);
 
+        eventPublisher.publishEvent(new EntityChangedEvent(MaintenancePlan.class, maintenancePlanToUpdate.getId()));
         return maintenancePlanRepository.save(maintenancePlanToUpdate);
     }
 
@@ -71,50 +75,36 @@ public class MaintenancePlanService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        return maintenancePlanRepository.findByIdAndBuilding(UUID.fromString(id), building)
+        // Busca pela chave primária (servida pelo cache de segundo nível) e confere o prédio
+        return maintenancePlanRepository.findById(UUID.fromString(id))
+                .filter(plan -> plan.getBuilding().getId().equals(building.getId()))
                 .orElseThrow(() -> new NotFoundException("Maintenance plan not found"));
     }
 
     public void delete(String id, String buildingId) {
         var maintenancePlan = findByIdAndBuilding(id, buildingId);
         maintenancePlanRepository.delete(maintenancePlan);
+        eventPublisher.publishEvent(new EntityChangedEvent(MaintenancePlan.class, maintenancePlan.getId()));
     }
 
-    public PageResponseDTO<MaintenancePlanResponseDTO> findAllWithFilters(MaintenancePlanFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<MaintenancePlanResponseDTO> findAllWithFilters(MaintenancePlanFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
-
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
         
         // Criar specification que inclui filtro por building
-        Specification<MaintenancePlan> spec = MaintenancePlanSpecification.withFilters(filter, currentUser)
-                .and((root, query, criteriaBuilder) -> 
-                    criteriaBuilder.equal(root.get("building"), building));
+        Specification<MaintenancePlan> spec = TenantSpecification.<MaintenancePlan>ofBuilding(building)
+                .and(MaintenancePlanSpecification.withFilters(filter, currentUser));
 
-        Page<MaintenancePlan> maintenancePlanPage = maintenancePlanRepository.findAll(spec, pageable);
-        
-        List<MaintenancePlanResponseDTO> content = maintenancePlanPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<MaintenancePlanResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(maintenancePlanPage.getTotalElements())
-                .totalPages(maintenancePlanPage.getTotalPages())
-                .hasNext(maintenancePlanPage.hasNext())
-                .hasPrevious(maintenancePlanPage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjection.ofEntity(MaintenancePlan.class, mapper::toResponseDTO),
+                PageQueryExecutor.Scope.of(MaintenancePlan.class, "building_id", building.getId()), spec, pageQuery);
     }
 }
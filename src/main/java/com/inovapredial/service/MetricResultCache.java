@@ -0,0 +1,152 @@
+package com.inovapredial.service;
+
+import com.inovapredial.dto.MetricFilterDTO;
+import com.inovapredial.dto.responses.MetricCacheStatsDTO;
+import com.inovapredial.event.BuildingDataChangedEvent;
+import com.inovapredial.model.enums.MaintenanceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória dos resultados de MetricService por seção e filtro.
+ * As entradas expiram pelo TTL e são descartadas quando os dados do prédio
+ * mudam (após o commit da transação que os alterou).
+ */
+@Component
+public class MetricResultCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<CacheKey, CacheEntry> entries;
+    // Geração por prédio: resultados calculados antes de uma invalidação não são armazenados
+    private final Map<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MetricResultCache(@Value("${api.metrics.cache.enabled:true}") boolean enabled,
+                             @Value("${api.metrics.cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${api.metrics.cache.max-entries:1000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                if (size() > MetricResultCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String section, MetricFilterDTO filter, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CacheKey key = CacheKey.of(section, filter);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    hits.incrementAndGet();
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        long generation = generationOf(key.buildingId()).get();
+        T value = loader.get();
+
+        synchronized (entries) {
+            if (generationOf(key.buildingId()).get() == generation) {
+                entries.put(key, new CacheEntry(value, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBuildingDataChanged(BuildingDataChangedEvent event) {
+        invalidateBuilding(event.buildingId());
+    }
+
+    public void invalidateBuilding(UUID buildingId) {
+        if (buildingId == null) {
+            return;
+        }
+        synchronized (entries) {
+            generationOf(buildingId).incrementAndGet();
+            Iterator<CacheKey> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (buildingId.equals(iterator.next().buildingId())) {
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            evictions.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public MetricCacheStatsDTO stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new MetricCacheStatsDTO(hits.get(), misses.get(), evictions.get(), size);
+    }
+
+    private AtomicLong generationOf(UUID buildingId) {
+        return generations.computeIfAbsent(buildingId, id -> new AtomicLong());
+    }
+
+    private record CacheEntry(Object value, long expiresAt) {
+    }
+
+    private record CacheKey(String section, UUID buildingId, LocalDateTime startDate, LocalDateTime endDate,
+                            UUID equipmentId, UUID employeeId, MaintenanceType maintenanceType) {
+
+        // Datas são normalizadas em segundos para que variações de milissegundos compartilhem a entrada
+        static CacheKey of(String section, MetricFilterDTO filter) {
+            return new CacheKey(
+                section,
+                filter.getBuildingId(),
+                filter.getStartDate() != null ? filter.getStartDate().truncatedTo(ChronoUnit.SECONDS) : null,
+                filter.getEndDate() != null ? filter.getEndDate().truncatedTo(ChronoUnit.SECONDS) : null,
+                filter.getEquipmentId(),
+                filter.getEmployeeId(),
+                filter.getMaintenanceType()
+            );
+        }
+    }
+}
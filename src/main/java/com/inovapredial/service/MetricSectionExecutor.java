@@ -0,0 +1,74 @@
+package com.inovapredial.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executa as seções independentes das métricas em paralelo, cada uma em sua
+ * própria transação somente leitura, com um único prazo para a requisição inteira.
+ * Quando o modo paralelo está desabilitado, as seções são calculadas na thread da
+ * requisição.
+ */
+@Component
+public class MetricSectionExecutor {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean parallelEnabled;
+    private final long sectionTimeoutMs;
+
+    public MetricSectionExecutor(@Qualifier("metricTaskExecutor") ThreadPoolTaskExecutor executor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${api.metrics.parallel.enabled:true}") boolean parallelEnabled,
+                                 @Value("${api.metrics.parallel.section-timeout-ms:10000}") long sectionTimeoutMs) {
+        this.executor = executor;
+        this.parallelEnabled = parallelEnabled;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs)));
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> section) {
+        if (!parallelEnabled) {
+            return CompletableFuture.completedFuture(section.get());
+        }
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> section.get()), executor);
+    }
+
+    // Prazo da requisição (em System.nanoTime), obtido antes de disparar as seções
+    public long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+    }
+
+    // Cada espera usa só o que resta do prazo: seções aguardadas em sequência não somam seus tempos limite
+    public <T> T await(CompletableFuture<T> future, String sectionName, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // O cancel não interrompe a tarefa do supplyAsync: quem encerra a consulta no banco
+            // é o timeout da transação somente leitura (mesmo valor, aplicado aos statements)
+            future.cancel(true);
+            throw new IllegalStateException("Tempo limite excedido ao calcular a seção de métricas: " + sectionName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de métricas interrompido: " + sectionName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erro ao calcular a seção de métricas: " + sectionName, e.getCause());
+        }
+    }
+}
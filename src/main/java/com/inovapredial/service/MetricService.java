@@ -3,84 +3,168 @@ package com.inovapredial.service;
 import com.inovapredial.dto.MetricFilterDTO;
 import com.inovapredial.dto.projection.EquipmentFailureProjection;
 import com.inovapredial.dto.projection.LowStockAlertProjection;
-import com.inovapredial.dto.projection.MaintenanceTypeMetricProjection;
+import com.inovapredial.dto.projection.MetricSummaryProjection;
 import com.inovapredial.dto.projection.MonthlyCostProjection;
 import com.inovapredial.dto.projection.TopUsedItemProjection;
 import com.inovapredial.dto.responses.MetricResponseDTO;
-import com.inovapredial.model.Building;
-import com.inovapredial.model.enums.ActivityStatus;
-import com.inovapredial.model.enums.EquipmentStatus;
-import com.inovapredial.model.enums.MaintenanceType;
-import com.inovapredial.repository.EquipmentRepository;
+import com.inovapredial.repository.BuildingDailyMetricRepository;
 import com.inovapredial.repository.InventoryRepository;
-import com.inovapredial.repository.TaskRepository;
-import com.inovapredial.repository.WorkOrderRepository;
+import com.inovapredial.repository.MetricQueryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MetricService {
 
-    private final WorkOrderRepository workOrderRepository;
-    private final TaskRepository taskRepository;
-    private final EquipmentRepository equipmentRepository;
+    private final MetricQueryRepository metricQueryRepository;
     private final InventoryRepository inventoryRepository;
+    private final BuildingDailyMetricRepository buildingDailyMetricRepository;
     private final BuildingService buildingService;
+    private final MetricSectionExecutor sectionExecutor;
+    private final MetricResultCache resultCache;
 
     public MetricResponseDTO calculateCompleteMetrics(MetricFilterDTO filter) {
         validateFilter(filter);
-        
+        return resultCache.get("complete", filter, () -> computeCompleteMetrics(filter));
+    }
+
+    private MetricResponseDTO computeCompleteMetrics(MetricFilterDTO filter) {
+        // As consultas independentes são disparadas em paralelo; os indicadores
+        // escalares vêm todos de uma única consulta consolidada
+        long deadline = sectionExecutor.deadline();
+        CompletableFuture<MetricSummaryProjection> summaryFuture =
+            sectionExecutor.submit(() -> findSummary(filter));
+        CompletableFuture<List<EquipmentFailureProjection>> equipmentFailuresFuture =
+            sectionExecutor.submit(() -> findEquipmentFailures(filter));
+        CompletableFuture<List<MonthlyCostProjection>> monthlyCostsFuture =
+            sectionExecutor.submit(() -> findMonthlyCosts(filter));
+        CompletableFuture<List<MonthlyCostProjection>> monthlyTaskCostsFuture =
+            sectionExecutor.submit(() -> findMonthlyTaskCosts(filter));
+        CompletableFuture<List<TopUsedItemProjection>> topUsedItemsFuture =
+            sectionExecutor.submit(() -> findTopUsedItems(filter));
+        CompletableFuture<List<LowStockAlertProjection>> lowStockAlertsFuture =
+            sectionExecutor.submit(() -> findLowStockItems(filter));
+
+        MetricSummaryProjection summary = sectionExecutor.await(summaryFuture, "summary", deadline);
+
         MetricResponseDTO.MetricResponseDTOBuilder builder = MetricResponseDTO.builder();
-        
-        builder.generalMetrics(calculateGeneralMetrics(filter))
-               .workOrderMetrics(calculateWorkOrderMetrics(filter))
-               .equipmentMetrics(calculateEquipmentMetrics(filter))
-               .timeSeriesMetrics(calculateTimeSeriesMetrics(filter))
-               .inventoryMetrics(calculateInventoryMetrics(filter));
-        
+
+        builder.generalMetrics(buildGeneralMetrics(summary))
+               .workOrderMetrics(buildWorkOrderMetrics(summary))
+               .equipmentMetrics(buildEquipmentMetrics(summary,
+                   sectionExecutor.await(equipmentFailuresFuture, "equipment", deadline)))
+               .timeSeriesMetrics(buildTimeSeriesMetrics(filter,
+                   sectionExecutor.await(monthlyCostsFuture, "timeSeries", deadline),
+                   sectionExecutor.await(monthlyTaskCostsFuture, "timeSeries", deadline)))
+               .inventoryMetrics(buildInventoryMetrics(summary,
+                   sectionExecutor.await(topUsedItemsFuture, "inventory", deadline),
+                   sectionExecutor.await(lowStockAlertsFuture, "inventory", deadline)));
+
         return builder.build();
     }
 
     public MetricResponseDTO.GeneralMetricsDTO calculateGeneralMetrics(MetricFilterDTO filter) {
         validateFilter(filter);
-        
-        BigDecimal workOrderCost = workOrderRepository.sumTotalCostByFilters(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate(),
-            filter.getEquipmentId(), filter.getEmployeeId(), filter.getMaintenanceType()
-        );
-        
-        BigDecimal taskCost = taskRepository.sumTotalCostByFilters(
+        return resultCache.get("general", filter, () -> buildGeneralMetrics(findSummary(filter)));
+    }
+
+    public MetricResponseDTO.WorkOrderMetricsDTO calculateWorkOrderMetrics(MetricFilterDTO filter) {
+        validateFilter(filter);
+        return resultCache.get("workOrders", filter, () -> buildWorkOrderMetrics(findSummary(filter)));
+    }
+
+    public MetricResponseDTO.EquipmentMetricsDTO calculateEquipmentMetrics(MetricFilterDTO filter) {
+        validateFilter(filter);
+        return resultCache.get("equipment", filter, () -> buildEquipmentMetrics(findSummary(filter), findEquipmentFailures(filter)));
+    }
+
+    public MetricResponseDTO.TimeSeriesMetricsDTO calculateTimeSeriesMetrics(MetricFilterDTO filter) {
+        validateFilter(filter);
+        return resultCache.get("timeSeries", filter, () -> buildTimeSeriesMetrics(filter, findMonthlyCosts(filter), findMonthlyTaskCosts(filter)));
+    }
+
+    public MetricResponseDTO.InventoryMetricsDTO calculateInventoryMetrics(MetricFilterDTO filter) {
+        validateFilter(filter);
+        return resultCache.get("inventory", filter, () -> buildInventoryMetrics(findSummary(filter), findTopUsedItems(filter), findLowStockItems(filter)));
+    }
+
+    private MetricSummaryProjection findSummary(MetricFilterDTO filter) {
+        String maintenanceType = filter.getMaintenanceType() != null ? filter.getMaintenanceType().name() : null;
+
+        // Filtros por dia inteiro e sem equipamento/funcionário são atendidos pelo consolidado diário
+        if (canUseDailyRollup(filter)) {
+            return buildingDailyMetricRepository.findMetricSummary(
+                filter.getBuildingId(),
+                filter.getStartDate() != null ? filter.getStartDate().toLocalDate() : null,
+                filter.getEndDate() != null ? filter.getEndDate().toLocalDate() : null,
+                maintenanceType
+            );
+        }
+
+        return metricQueryRepository.findMetricSummary(
             filter.getBuildingId(), filter.getStartDate(), filter.getEndDate(),
-            filter.getEquipmentId(), filter.getEmployeeId()
+            filter.getEquipmentId(), filter.getEmployeeId(), maintenanceType
         );
-        
-        BigDecimal materialCost = inventoryRepository.sumTotalMaterialCost(
+    }
+
+    private boolean canUseDailyRollup(MetricFilterDTO filter) {
+        if (filter.getEquipmentId() != null || filter.getEmployeeId() != null) {
+            return false;
+        }
+        LocalDateTime startDate = filter.getStartDate();
+        LocalDateTime endDate = filter.getEndDate();
+        boolean startAligned = startDate == null || startDate.toLocalTime().equals(LocalTime.MIDNIGHT);
+        boolean endAligned = endDate == null || !endDate.toLocalTime().isBefore(LocalTime.of(23, 59, 59));
+        return startAligned && endAligned;
+    }
+
+    private List<EquipmentFailureProjection> findEquipmentFailures(MetricFilterDTO filter) {
+        return metricQueryRepository.findEquipmentFailures(
             filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
         );
-        
-        BigDecimal totalCost = workOrderCost.add(taskCost).add(materialCost);
-        
-        Long totalWorkOrders = workOrderRepository.countByBuildingIdAndDateRange(
+    }
+
+    private List<MonthlyCostProjection> findMonthlyCosts(MetricFilterDTO filter) {
+        return metricQueryRepository.findMonthlyWorkOrderCosts(
             filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
         );
-        Long totalTasks = taskRepository.countByBuildingIdAndDateRange(
+    }
+
+    private List<MonthlyCostProjection> findMonthlyTaskCosts(MetricFilterDTO filter) {
+        return metricQueryRepository.findMonthlyTaskCosts(
             filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
         );
-        Long totalEquipments = equipmentRepository.countByBuildingId(filter.getBuildingId());
-        Long activeEquipments = equipmentRepository.countByStatusAndBuilding(
-            filter.getBuildingId(), EquipmentStatus.ACTIVE
+    }
+
+    private List<TopUsedItemProjection> findTopUsedItems(MetricFilterDTO filter) {
+        return metricQueryRepository.findTopUsedItems(
+            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
         );
-        
+    }
+
+    private List<LowStockAlertProjection> findLowStockItems(MetricFilterDTO filter) {
+        return inventoryRepository.findLowStockItems(filter.getBuildingId());
+    }
+
+    private MetricResponseDTO.GeneralMetricsDTO buildGeneralMetrics(MetricSummaryProjection summary) {
+        BigDecimal totalCost = summary.getWorkOrderCost()
+            .add(summary.getTaskCost())
+            .add(summary.getMaterialCost());
+
+        Long totalWorkOrders = summary.getTotalWorkOrders();
+        Long totalTasks = summary.getTotalTasks();
+
         BigDecimal averageCostPerWorkOrder = totalWorkOrders > 0 ? 
             totalCost.divide(BigDecimal.valueOf(totalWorkOrders), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
         
@@ -91,64 +175,40 @@ public class MetricService {
             .totalCost(totalCost)
             .totalWorkOrders(totalWorkOrders)
             .totalTasks(totalTasks)
-            .activeEquipments(activeEquipments)
-            .totalEquipments(totalEquipments)
+            .activeEquipments(summary.getActiveEquipments())
+            .totalEquipments(summary.getTotalEquipments())
             .averageCostPerWorkOrder(averageCostPerWorkOrder)
             .averageCostPerTask(averageCostPerTask)
             .build();
     }
 
-    public MetricResponseDTO.WorkOrderMetricsDTO calculateWorkOrderMetrics(MetricFilterDTO filter) {
-        validateFilter(filter);
-        
-        Long totalWorkOrders = workOrderRepository.countByBuildingId(filter.getBuildingId());
-        Long completedWorkOrders = workOrderRepository.countByStatusAndFilters(
-            filter.getBuildingId(), ActivityStatus.COMPLETED, filter.getStartDate(), filter.getEndDate()
-        );
-        Long cancelledWorkOrders = workOrderRepository.countByStatusAndFilters(
-            filter.getBuildingId(), ActivityStatus.CANCELLED, filter.getStartDate(), filter.getEndDate()
-        );
-        Long inProgressWorkOrders = workOrderRepository.countByStatusAndFilters(
-            filter.getBuildingId(), ActivityStatus.IN_PROGRESS, filter.getStartDate(), filter.getEndDate()
-        );
-        
-        BigDecimal totalCost = workOrderRepository.sumTotalCostByFilters(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate(),
-            filter.getEquipmentId(), filter.getEmployeeId(), filter.getMaintenanceType()
-        );
-        
-        Double averageCompletionTimeHours = workOrderRepository.calculateAverageCompletionTimeHours(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
+    private MetricResponseDTO.WorkOrderMetricsDTO buildWorkOrderMetrics(MetricSummaryProjection summary) {
+        Long totalWorkOrders = summary.getTotalWorkOrdersAllTime();
+        Long completedWorkOrders = summary.getCompletedWorkOrders();
+        BigDecimal totalCost = summary.getWorkOrderCost();
+        Double averageCompletionTimeHours = summary.getAverageCompletionTimeHours();
         
         Double completionRate = totalWorkOrders > 0 ? 
             (completedWorkOrders.doubleValue() / totalWorkOrders.doubleValue()) * 100 : 0.0;
         
         // Métricas por tipo de manutenção
-        List<MaintenanceTypeMetricProjection> maintenanceTypeMetrics = workOrderRepository.findMaintenanceTypeMetrics(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
-        Map<MaintenanceType, MaintenanceTypeMetricProjection> metricsMap = maintenanceTypeMetrics.stream()
-            .collect(Collectors.toMap(MaintenanceTypeMetricProjection::getMaintenanceType, m -> m));
-        
         MetricResponseDTO.MaintenanceTypeMetricsDTO preventive = createMaintenanceTypeMetrics(
-            metricsMap.get(MaintenanceType.PREVENTIVE), totalCost
+            summary.getPreventiveCount(), summary.getPreventiveCost(), summary.getPreventiveAverageCost(), totalCost
         );
         
         MetricResponseDTO.MaintenanceTypeMetricsDTO corrective = createMaintenanceTypeMetrics(
-            metricsMap.get(MaintenanceType.CORRECTIVE), totalCost
+            summary.getCorrectiveCount(), summary.getCorrectiveCost(), summary.getCorrectiveAverageCost(), totalCost
         );
         
         MetricResponseDTO.MaintenanceTypeMetricsDTO predictive = createMaintenanceTypeMetrics(
-            metricsMap.get(MaintenanceType.PREDICTIVE), totalCost
+            summary.getPredictiveCount(), summary.getPredictiveCost(), summary.getPredictiveAverageCost(), totalCost
         );
         
         return MetricResponseDTO.WorkOrderMetricsDTO.builder()
             .totalWorkOrders(totalWorkOrders)
             .completedWorkOrders(completedWorkOrders)
-            .cancelledWorkOrders(cancelledWorkOrders)
-            .inProgressWorkOrders(inProgressWorkOrders)
+            .cancelledWorkOrders(summary.getCancelledWorkOrders())
+            .inProgressWorkOrders(summary.getInProgressWorkOrders())
             .totalCost(totalCost)
             .averageCompletionTimeHours(BigDecimal.valueOf(averageCompletionTimeHours != null ? averageCompletionTimeHours : Double.valueOf(0.0)))
             .completionRate(completionRate)
@@ -158,55 +218,35 @@ public class MetricService {
             .build();
     }
 
-    public MetricResponseDTO.EquipmentMetricsDTO calculateEquipmentMetrics(MetricFilterDTO filter) {
-        validateFilter(filter);
-        
-        Long totalEquipments = equipmentRepository.countByBuildingId(filter.getBuildingId());
-        Long activeEquipments = equipmentRepository.countByStatusAndBuilding(
-            filter.getBuildingId(), EquipmentStatus.ACTIVE
-        );
-        Long inactiveEquipments = equipmentRepository.countByStatusAndBuilding(
-            filter.getBuildingId(), EquipmentStatus.INACTIVE
-        );
-        Long criticalEquipments = equipmentRepository.countCriticalEquipmentsByBuilding(
-            filter.getBuildingId()
-        );
-        
+    private MetricResponseDTO.EquipmentMetricsDTO buildEquipmentMetrics(MetricSummaryProjection summary,
+                                                                        List<EquipmentFailureProjection> equipmentFailures) {
         // MTBF - Mean Time Between Failures
-        List<EquipmentFailureProjection> equipmentFailures = equipmentRepository.findEquipmentFailureMetrics(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
         List<MetricResponseDTO.EquipmentMTBFDTO> equipmentMTBF = equipmentFailures.stream()
             .map(this::mapToEquipmentMTBFDTO)
             .collect(Collectors.toList());
         
         // Distribuição por status
         MetricResponseDTO.EquipmentStatusDistributionDTO statusDistribution = MetricResponseDTO.EquipmentStatusDistributionDTO.builder()
-            .active(activeEquipments)
-            .inactive(inactiveEquipments)
-            .maintenance(equipmentRepository.countByStatusAndBuilding(filter.getBuildingId(), EquipmentStatus.UNDER_MAINTENANCE))
+            .active(summary.getActiveEquipments())
+            .inactive(summary.getInactiveEquipments())
+            .maintenance(summary.getUnderMaintenanceEquipments())
             .outOfService(0L) // Não existe este status no enum atual
             .build();
         
         return MetricResponseDTO.EquipmentMetricsDTO.builder()
-            .totalEquipments(totalEquipments)
-            .activeEquipments(activeEquipments)
-            .inactiveEquipments(inactiveEquipments)
-            .criticalEquipments(criticalEquipments)
+            .totalEquipments(summary.getTotalEquipments())
+            .activeEquipments(summary.getActiveEquipments())
+            .inactiveEquipments(summary.getInactiveEquipments())
+            .criticalEquipments(summary.getCriticalEquipments())
             .equipmentMTBF(equipmentMTBF)
             .statusDistribution(statusDistribution)
             .build();
     }
 
-    public MetricResponseDTO.TimeSeriesMetricsDTO calculateTimeSeriesMetrics(MetricFilterDTO filter) {
-        validateFilter(filter);
-        
+    private MetricResponseDTO.TimeSeriesMetricsDTO buildTimeSeriesMetrics(MetricFilterDTO filter,
+                                                                          List<MonthlyCostProjection> monthlyCosts,
+                                                                          List<MonthlyCostProjection> monthlyTaskCosts) {
         // Custos mensais
-        List<MonthlyCostProjection> monthlyCosts = workOrderRepository.findMonthlyCostsByBuildingAndDateRange(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
         List<MetricResponseDTO.MonthlyCostDTO> monthlyCostDTOs = monthlyCosts.stream()
             .map(this::mapToMonthlyCostDTO)
             .collect(Collectors.toList());
@@ -215,7 +255,7 @@ public class MetricService {
         List<MetricResponseDTO.MonthlyWorkOrderDTO> monthlyWorkOrders = calculateMonthlyWorkOrders(filter);
         
         // Tarefas mensais
-        List<MetricResponseDTO.MonthlyTaskDTO> monthlyTasks = calculateMonthlyTasks(filter);
+        List<MetricResponseDTO.MonthlyTaskDTO> monthlyTasks = mapToMonthlyTaskDTOs(monthlyTaskCosts);
         
         return MetricResponseDTO.TimeSeriesMetricsDTO.builder()
             .monthlyCosts(monthlyCostDTOs)
@@ -224,25 +264,13 @@ public class MetricService {
             .build();
     }
 
-    public MetricResponseDTO.InventoryMetricsDTO calculateInventoryMetrics(MetricFilterDTO filter) {
-        validateFilter(filter);
-        
-        BigDecimal totalMaterialCost = inventoryRepository.sumTotalMaterialCost(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
-        List<TopUsedItemProjection> topUsedItems = inventoryRepository.findTopUsedItems(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
+    private MetricResponseDTO.InventoryMetricsDTO buildInventoryMetrics(MetricSummaryProjection summary,
+                                                                        List<TopUsedItemProjection> topUsedItems,
+                                                                        List<LowStockAlertProjection> lowStockAlerts) {
         List<MetricResponseDTO.TopUsedItemDTO> topUsedItemDTOs = topUsedItems.stream()
             .map(this::mapToTopUsedItemDTO)
             .collect(Collectors.toList());
         
-        List<LowStockAlertProjection> lowStockAlerts = inventoryRepository.findLowStockItems(
-            filter.getBuildingId()
-        );
-        
         List<MetricResponseDTO.LowStockAlertDTO> lowStockAlertDTOs = lowStockAlerts.stream()
             .map(this::mapToLowStockAlertDTO)
             .collect(Collectors.toList());
@@ -252,7 +280,7 @@ public class MetricService {
             .sum();
         
         return MetricResponseDTO.InventoryMetricsDTO.builder()
-            .totalMaterialCost(totalMaterialCost)
+            .totalMaterialCost(summary.getMaterialCost())
             .totalItemsUsed(totalItemsUsed)
             .topUsedItems(topUsedItemDTOs)
             .lowStockAlerts(lowStockAlertDTOs)
@@ -274,9 +302,9 @@ public class MetricService {
     }
 
     private MetricResponseDTO.MaintenanceTypeMetricsDTO createMaintenanceTypeMetrics(
-            MaintenanceTypeMetricProjection projection, BigDecimal totalCost) {
+            Long count, BigDecimal typeCost, BigDecimal averageCost, BigDecimal totalCost) {
         
-        if (projection == null) {
+        if (count == null || count == 0) {
             return MetricResponseDTO.MaintenanceTypeMetricsDTO.builder()
                 .count(0L)
                 .totalCost(BigDecimal.ZERO)
@@ -286,12 +314,12 @@ public class MetricService {
         }
         
         Double percentageOfTotal = totalCost.compareTo(BigDecimal.ZERO) > 0 ? 
-            projection.getTotalCost().divide(totalCost, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue() : 0.0;
+            typeCost.divide(totalCost, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue() : 0.0;
         
         return MetricResponseDTO.MaintenanceTypeMetricsDTO.builder()
-            .count(projection.getCount())
-            .totalCost(projection.getTotalCost())
-            .averageCost(projection.getAverageCost())
+            .count(count)
+            .totalCost(typeCost)
+            .averageCost(averageCost)
             .percentageOfTotal(percentageOfTotal)
             .build();
     }
@@ -329,11 +357,7 @@ public class MetricService {
         return monthlyWorkOrders;
     }
 
-    private List<MetricResponseDTO.MonthlyTaskDTO> calculateMonthlyTasks(MetricFilterDTO filter) {
-        List<MonthlyCostProjection> monthlyTaskCosts = taskRepository.findMonthlyTaskCostsByBuildingAndDateRange(
-            filter.getBuildingId(), filter.getStartDate(), filter.getEndDate()
-        );
-        
+    private List<MetricResponseDTO.MonthlyTaskDTO> mapToMonthlyTaskDTOs(List<MonthlyCostProjection> monthlyTaskCosts) {
         return monthlyTaskCosts.stream()
             .map(projection -> MetricResponseDTO.MonthlyTaskDTO.builder()
                 .year(projection.getYear())
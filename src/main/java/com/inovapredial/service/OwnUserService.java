@@ -1,9 +1,11 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.requests.OwnUserRequestDTO;
+import com.inovapredial.event.PrincipalChangedEvent;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.repository.OwnUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 public class OwnUserService {
     private final OwnUserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void create(OwnUserRequestDTO dto){
         if (repository.findByEmail(dto.email()) != null) {
@@ -30,6 +33,7 @@ public class OwnUserService {
                 .build();
 
         repository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getEmail()));
     }
 
     public UserDetails loadUserByEmail(String email) {
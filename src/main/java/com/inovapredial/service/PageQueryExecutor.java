@@ -0,0 +1,176 @@
+package com.inovapredial.service;
+
+import com.inovapredial.dto.PageQueryDTO;
+import com.inovapredial.dto.responses.PageResponseDTO;
+import com.inovapredial.repository.ListProjection;
+import com.inovapredial.repository.PlannerStatisticsRepository;
+import com.inovapredial.specification.KeysetSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Executa as buscas paginadas dos serviços, selecionando as colunas da projeção
+ * da listagem. Todos os modos buscam size + 1 linhas para saber se há próxima página:
+ * OFFSET ainda calcula o total (com COUNT só quando a própria página não o revela);
+ * KEYSET continua a partir do cursor, com custo constante em páginas profundas;
+ * SLICE pagina pelo número da página sem contagem.
+ */
+@Component
+@RequiredArgsConstructor
+public class PageQueryExecutor {
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+    private final PlannerStatisticsRepository plannerStatisticsRepository;
+
+    /**
+     * Recorte (tabela, coluna = valor) usado na estimativa do total do modo SLICE.
+     */
+    public record Scope(String table, String column, UUID value) {
+
+        public static Scope of(Class<?> domainClass, String column, UUID value) {
+            Table table = domainClass.getAnnotation(Table.class);
+            return new Scope(table != null ? table.name() : domainClass.getSimpleName().toLowerCase(), column, value);
+        }
+    }
+
+    private record Row<R>(R item, Object sortValue, Object id) {
+    }
+
+    public <T, R> PageResponseDTO<R> findAll(ListProjection<T, R> projection, Scope scope, Specification<T> spec,
+                                             PageQueryDTO pageQuery) {
+        if (pageQuery.size() < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        Sort.Direction direction = Sort.Direction.fromString(pageQuery.sortDirection());
+        if (pageQuery.keyset()) {
+            return findAfterCursor(projection, spec, pageQuery, direction);
+        }
+        if (pageQuery.page() < 0) {
+            throw new IllegalArgumentException("Page index must not be less than zero");
+        }
+
+        int offset = Math.multiplyExact(pageQuery.page(), pageQuery.size());
+        List<Row<R>> rows = select(projection, spec, Sort.by(direction, pageQuery.sortBy()), pageQuery.sortBy(),
+                offset, pageQuery.size() + 1);
+        boolean hasNext = rows.size() > pageQuery.size();
+        List<Row<R>> pageRows = hasNext ? rows.subList(0, pageQuery.size()) : rows;
+
+        var builder = PageResponseDTO.<R>builder()
+                .content(pageRows.stream().map(Row::item).toList())
+                .pageNumber(pageQuery.page())
+                .pageSize(pageQuery.size())
+                .hasNext(hasNext)
+                .hasPrevious(pageQuery.page() > 0);
+
+        if (!pageQuery.slice()) {
+            // Sem próxima página o total sai da própria página (exceto página vazia além do fim)
+            long total = !hasNext && (offset == 0 || !pageRows.isEmpty())
+                    ? offset + pageRows.size()
+                    : count(projection.domainClass(), spec);
+            return builder.totalElements(total)
+                    .totalPages((int) Math.ceil((double) total / pageQuery.size()))
+                    .build();
+        }
+
+        if (pageQuery.approximateTotal()) {
+            // Na última página o total é exato; antes dela a estimativa nunca fica abaixo do que já se viu
+            long known = (long) offset + pageRows.size();
+            long total = hasNext
+                    ? Math.max(known + 1, plannerStatisticsRepository.estimateRows(scope.table(), scope.column(), scope.value()))
+                    : known;
+            builder.totalElements(total)
+                    .totalPages((int) Math.ceil((double) total / pageQuery.size()))
+                    .totalEstimated(hasNext);
+        }
+        return builder.build();
+    }
+
+    private <T, R> PageResponseDTO<R> findAfterCursor(ListProjection<T, R> projection, Specification<T> spec,
+                                                      PageQueryDTO pageQuery, Sort.Direction direction) {
+        boolean hasPrevious = StringUtils.hasText(pageQuery.after());
+        Specification<T> keysetSpec = spec;
+        if (hasPrevious) {
+            var cursor = KeysetSpecification.decode(pageQuery.after(), pageQuery.sortBy(), direction);
+            keysetSpec = spec.and(KeysetSpecification.after(cursor));
+        }
+
+        Sort sort = KeysetSpecification.sort(pageQuery.sortBy(), direction);
+        List<Row<R>> rows = select(projection, keysetSpec, sort, pageQuery.sortBy(), 0, pageQuery.size() + 1);
+
+        boolean hasNext = rows.size() > pageQuery.size();
+        List<Row<R>> pageRows = hasNext ? rows.subList(0, pageQuery.size()) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Row<R> last = pageRows.get(pageRows.size() - 1);
+            nextCursor = KeysetSpecification.encode(pageQuery.sortBy(), direction, last.sortValue(), last.id());
+        }
+
+        return PageResponseDTO.<R>builder()
+                .content(pageRows.stream().map(Row::item).toList())
+                .pageNumber(pageQuery.page())
+                .pageSize(pageQuery.size())
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Colunas da projeção seguidas do campo de ordenação e do id, que formam o cursor
+    private <T, R> List<Row<R>> select(ListProjection<T, R> projection, Specification<T> spec, Sort sort,
+                                       String sortBy, int offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<T> root = query.from(projection.domainClass());
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(projection.selections().apply(root));
+        int width = selections.size();
+        selections.add(KeysetSpecification.path(root, sortBy));
+        selections.add(root.get(ID));
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(columns -> new Row<>(projection.mapper().apply(Arrays.copyOf(columns, width)),
+                        columns[width], columns[width + 1]))
+                .toList();
+    }
+
+    private <T> long count(Class<T> domainClass, Specification<T> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,6 +1,7 @@
 package com.inovapredial.service;
 
 import com.inovapredial.model.OwnUser;
+import com.inovapredial.repository.OwnUserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,16 +10,26 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class SecurityContextService {
-    private final OwnUserService service;
+    private final OwnUserRepository ownUserRepository;
 
+    // Retorna o usuário já autenticado pelo SecurityFilter, sem nova consulta ao banco
     public OwnUser getCurrentUser(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication != null && authentication.isAuthenticated()){
-            OwnUser userDetails = (OwnUser) authentication.getPrincipal();
-            return (OwnUser) service.loadUserByEmail(userDetails.getEmail());
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof OwnUser ownUser){
+            return ownUser;
         }
 
         return null;
     }
+
+    // Instância gerenciada do usuário atual, para alterar suas associações na transação corrente
+    public OwnUser getManagedCurrentUser(){
+        OwnUser currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return null;
+        }
+        return ownUserRepository.findById(currentUser.getId()).orElse(null);
+    }
 }
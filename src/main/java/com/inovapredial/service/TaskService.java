@@ -1,6 +1,7 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.TaskFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.TaskRequestDTO;
 import com.inovapredial.dto.responses.TaskResponseDTO;
@@ -12,23 +13,29 @@ import com.inovapredial.model.OwnUser;
 import com.inovapredial.model.Task;
 import com.inovapredial.model.WorkOrder;
 import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.repository.EmployeeRepository;
+import com.inovapredial.repository.ListProjections;
 import com.inovapredial.repository.TaskRepository;
 import com.inovapredial.repository.WorkOrderRepository;
 import com.inovapredial.specification.TaskSpecification;
+import com.inovapredial.specification.TenantSpecification;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,31 +44,88 @@ public class TaskService {
     private final TaskMapper mapper;
     private final TaskRepository taskRepository;
     private final WorkOrderRepository workOrderRepository;
+    private final EmployeeRepository employeeRepository;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final WorkOrderService workOrderService;
     private final EmployeeService employeeService;
     private final SecurityContextService securityContextService;
+    private final BuildingDailyMetricService buildingDailyMetricService;
 
     @Transactional
     public Task create(TaskRequestDTO dto, String buildingId) {
-        var saved = createInternal(dto, buildingId);
-        return taskRepository.save(saved);
+        var saved = taskRepository.save(createInternal(dto, buildingId));
+        applyLaborCost(saved.getBuilding().getId(), List.of(LaborShare.of(saved)));
+        buildingDailyMetricService.refresh(saved.getBuilding().getId(), saved.getStartDate());
+        return saved;
     }
 
     @Transactional
     public List<Task> createBatch(List<TaskRequestDTO> dtos, String buildingId) {
-        List<Task> toSave = new ArrayList<>();
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        if (dtos == null || dtos.isEmpty()) {
+            return List.of();
+        }
+
+        // Cada ordem de serviço e funcionário distinto é buscado uma única vez, já restrito ao prédio
+        Set<UUID> workOrderIds = new HashSet<>();
+        Set<UUID> employeeIds = new HashSet<>();
+        for (TaskRequestDTO dto : dtos) {
+            // @Valid não alcança os elementos da lista no corpo da requisição
+            if (dto == null || dto.workOrderId() == null) {
+                throw new IllegalArgumentException("Cada tarefa precisa de workOrderId");
+            }
+            workOrderIds.add(dto.workOrderId());
+            if (dto.employeeId() != null) {
+                employeeIds.add(dto.employeeId());
+            }
+        }
+
+        Map<UUID, WorkOrder> workOrders = workOrderRepository.findAllByIdInAndBuilding(workOrderIds, building).stream()
+            .collect(Collectors.toMap(WorkOrder::getId, Function.identity()));
+        if (workOrders.size() != workOrderIds.size()) {
+            throw new NotFoundException("WorkOrder not found");
+        }
+
+        Map<UUID, Employee> employees = employeeIds.isEmpty() ? Map.of()
+            : employeeRepository.findAllByIdInAndBuilding(employeeIds, building).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        if (employees.size() != employeeIds.size()) {
+            throw new NotFoundException("Employee not found");
+        }
+
+        List<Task> toSave = new ArrayList<>(dtos.size());
         for (TaskRequestDTO dto : dtos) {
-            toSave.add(createInternal(dto, buildingId));
+            Task task = mapper.toEntity(dto);
+            task.setWorkOrder(workOrders.get(dto.workOrderId()));
+            task.setEmployee(dto.employeeId() != null ? employees.get(dto.employeeId()) : null);
+            task.setBuilding(building);
+            if (task.getActivityStatus() == null) {
+                task.setActivityStatus(ActivityStatus.OPEN);
+            }
+            toSave.add(task);
         }
-        return taskRepository.saveAll(toSave);
+
+        // Ids UUID gerados na aplicação: os INSERTs saem em lotes JDBC (hibernate.jdbc.batch_size)
+        List<Task> saved = taskRepository.saveAll(toSave);
+        applyLaborCost(building.getId(), saved.stream().map(LaborShare::of).toList());
+        buildingDailyMetricService.refresh(building.getId(),
+            saved.stream().map(Task::getStartDate).toArray(LocalDateTime[]::new));
+        return saved;
     }
 
     private Task createInternal(TaskRequestDTO dto, String buildingId) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -94,11 +158,13 @@ public class TaskService {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
         Task taskToUpdate = findByIdAndBuilding(id, buildingId);
+        LocalDateTime previousStartDate = taskToUpdate.getStartDate();
+        LaborShare previousShare = LaborShare.of(taskToUpdate);
 
         if (dto.workOrderId() != null) {
             WorkOrder workOrder = workOrderService.findByIdAndBuilding(dto.workOrderId().toString(), buildingId);
@@ -119,14 +185,18 @@ public class TaskService {
         mapper.updateTaskFromRequestDTO(dto, taskToUpdate);
         taskToUpdate.setBuilding(building);
 
-        return taskRepository.save(taskToUpdate);
+        Task saved = taskRepository.save(taskToUpdate);
+        // Custo, status ou ordem de serviço podem ter mudado: move a diferença entre as ordens
+        applyLaborCost(building.getId(), List.of(previousShare.negate(), LaborShare.of(saved)));
+        buildingDailyMetricService.refresh(building.getId(), previousStartDate, saved.getStartDate());
+        return saved;
     }
 
     public Task findByIdAndBuilding(String id, String buildingId) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -134,73 +204,96 @@ public class TaskService {
                 .orElseThrow(() -> new NotFoundException("Task not found"));
     }
 
+    @Transactional
     public void delete(String id, String buildingId) {
         var task = findByIdAndBuilding(id, buildingId);
         taskRepository.delete(task);
+        applyLaborCost(task.getBuilding().getId(), List.of(LaborShare.of(task).negate()));
+        buildingDailyMetricService.refresh(task.getBuilding().getId(), task.getStartDate());
     }
 
-    public PageResponseDTO<TaskResponseDTO> findAllWithFilters(TaskFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<TaskResponseDTO> findAllWithFilters(TaskFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        Specification<Task> spec = TaskSpecification.withFilters(filter, currentUser)
-                .and((root, query, criteriaBuilder) ->
-                        criteriaBuilder.equal(root.get("building"), building));
-
-        Page<Task> taskPage = taskRepository.findAll(spec, pageable);
+        // Acesso ao prédio já verificado: o filtro de tenant é só o building_id
+        Specification<Task> spec = TenantSpecification.<Task>ofBuilding(building)
+                .and(TaskSpecification.withFilters(filter));
 
-        List<TaskResponseDTO> content = taskPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-
-        return PageResponseDTO.<TaskResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(taskPage.getTotalElements())
-                .totalPages(taskPage.getTotalPages())
-                .hasNext(taskPage.hasNext())
-                .hasPrevious(taskPage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjections.TASK,
+                PageQueryExecutor.Scope.of(Task.class, "building_id", building.getId()), spec, pageQuery);
     }
 
     @Transactional
     public Task updateStatus(String id, ActivityStatus status, String buildingId, String reason) {
-        Task task = findByIdAndBuilding(id, buildingId);
-        ActivityStatus previousStatus = task.getActivityStatus();
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        // A ordem de serviço é carregada junto: a conclusão soma o custo nela
+        Task task = taskRepository.findWithWorkOrderByIdAndBuilding(UUID.fromString(id), building)
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+        LaborShare previousShare = LaborShare.of(task);
         
         task.setActivityStatus(status);
         task.setReason(reason);
         
-        // Se a tarefa foi marcada como concluída e possui custo, adicionar à ordem de serviço
-        if (status == ActivityStatus.COMPLETED && task.getCost() != null && task.getCost().compareTo(BigDecimal.ZERO) > 0) {
-            updateWorkOrderCostFromTask(task);
-        }
+        // O custo entra na ordem de serviço ao concluir e sai se a tarefa deixar de estar concluída;
+        // concluir de novo uma tarefa já concluída não soma outra vez
+        applyLaborCost(building.getId(), List.of(previousShare.negate(), LaborShare.of(task)));
         
         // Definir data de fim se a tarefa foi concluída
         if (status == ActivityStatus.COMPLETED && task.getEndDate() == null) {
             task.setEndDate(LocalDateTime.now());
         }
         
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        buildingDailyMetricService.refresh(saved.getBuilding().getId(), saved.getStartDate());
+        return saved;
     }
-    
-    private void updateWorkOrderCostFromTask(Task task) {
-        WorkOrder workOrder = task.getWorkOrder();
-        if (workOrder != null) {
-            BigDecimal currentTotalCost = workOrder.getTotalCost() != null ? workOrder.getTotalCost() : BigDecimal.ZERO;
-            BigDecimal newTotalCost = currentTotalCost.add(task.getCost());
-            workOrder.setTotalCost(newTotalCost);
-            workOrderRepository.save(workOrder);
+
+    // Soma as variações por ordem de serviço em UPDATEs atômicos (labor_cost e total_cost) e
+    // recalcula a métrica das ordens alteradas, consolidada pelo dia de abertura
+    private void applyLaborCost(UUID buildingId, List<LaborShare> shares) {
+        Map<UUID, BigDecimal> deltas = new LinkedHashMap<>();
+        Map<UUID, WorkOrder> workOrders = new HashMap<>();
+        for (LaborShare share : shares) {
+            if (share.workOrder() != null) {
+                deltas.merge(share.workOrder().getId(), share.cost(), BigDecimal::add);
+                workOrders.putIfAbsent(share.workOrder().getId(), share.workOrder());
+            }
+        }
+
+        List<LocalDateTime> openingDates = new ArrayList<>();
+        deltas.forEach((workOrderId, delta) -> {
+            if (delta.signum() != 0) {
+                workOrderRepository.addLaborCost(workOrderId, delta);
+                openingDates.add(workOrders.get(workOrderId).getOpeningDate());
+            }
+        });
+        if (!openingDates.isEmpty()) {
+            buildingDailyMetricService.refresh(buildingId, openingDates.toArray(LocalDateTime[]::new));
         }
     }
-}
 
+    // Parcela da tarefa no custo de mão de obra da ordem: o custo só conta com a tarefa concluída
+    private record LaborShare(WorkOrder workOrder, BigDecimal cost) {
+
+        static LaborShare of(Task task) {
+            boolean counted = task.getActivityStatus() == ActivityStatus.COMPLETED && task.getCost() != null;
+            return new LaborShare(task.getWorkOrder(), counted ? task.getCost() : BigDecimal.ZERO);
+        }
+
+        LaborShare negate() {
+            return new LaborShare(workOrder, cost.negate());
+        }
+    }
+}
 
@@ -0,0 +1,69 @@
+package com.inovapredial.service;
+
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.repository.WorkOrderRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Confere periodicamente o custo das ordens de serviço, mantido por variações atômicas:
+ * material_cost deve ser a soma dos materiais e labor_cost a soma das tarefas concluídas.
+ * Ordens divergentes têm as parcelas regravadas e o total corrigido pela mesma diferença;
+ * até batch-size ordens por execução.
+ */
+@Service
+public class WorkOrderCostReconciliationService {
+
+    private final WorkOrderRepository workOrderRepository;
+    private final BuildingDailyMetricService buildingDailyMetricService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public WorkOrderCostReconciliationService(WorkOrderRepository workOrderRepository,
+                                              BuildingDailyMetricService buildingDailyMetricService,
+                                              @Value("${api.work-order.cost-reconciliation.enabled:true}") boolean enabled,
+                                              @Value("${api.work-order.cost-reconciliation.batch-size:500}") int batchSize) {
+        this.workOrderRepository = workOrderRepository;
+        this.buildingDailyMetricService = buildingDailyMetricService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${api.work-order.cost-reconciliation.interval-ms:3600000}",
+               initialDelayString = "${api.work-order.cost-reconciliation.interval-ms:3600000}")
+    @Transactional
+    public void scheduledReconciliation() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    // Retorna quantas ordens foram corrigidas (0 = custos conferem)
+    @Transactional
+    public int reconcile() {
+        workOrderRepository.lockCostReconciliation();
+        List<UUID> ids = workOrderRepository.findCostDriftIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Com as linhas bloqueadas, o recálculo vê os itens e tarefas de quem já aplicou a variação
+        workOrderRepository.lockAllByIdIn(ids);
+        int repaired = workOrderRepository.reconcileCosts(ids);
+
+        // O total corrigido entra na métrica pelo dia de abertura de cada ordem
+        workOrderRepository.findAllById(ids).stream()
+                .collect(Collectors.groupingBy(workOrder -> workOrder.getBuilding().getId(),
+                        Collectors.mapping(WorkOrder::getOpeningDate, Collectors.toList())))
+                .forEach((buildingId, openingDates) ->
+                        buildingDailyMetricService.refresh(buildingId, openingDates.toArray(LocalDateTime[]::new)));
+        return repaired;
+    }
+}
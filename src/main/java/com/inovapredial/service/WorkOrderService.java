@@ -1,13 +1,13 @@
 package com.inovapredial.service;
 
 import com.inovapredial.dto.WorkOrderFilterDTO;
+import com.inovapredial.dto.PageQueryDTO;
 import com.inovapredial.dto.responses.PageResponseDTO;
 import com.inovapredial.dto.requests.WorkOrderRequestDTO;
 import com.inovapredial.dto.requests.WorkOrderInventoryRequestDTO;
 import com.inovapredial.dto.responses.WorkOrderResponseDTO;
 import com.inovapredial.dto.responses.WorkOrderInventoryResponseDTO;
 import com.inovapredial.exceptions.NotFoundException;
-import com.inovapredial.exceptions.InsufficientStockException;
 import com.inovapredial.mapper.WorkOrderMapper;
 import com.inovapredial.model.Building;
 import com.inovapredial.model.Employee;
@@ -19,24 +19,28 @@ import com.inovapredial.model.WorkOrderInventory;
 import com.inovapredial.model.WorkOrderInventoryId;
 import com.inovapredial.model.enums.ActivityStatus;
 import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.repository.ListProjections;
 import com.inovapredial.repository.WorkOrderRepository;
 import com.inovapredial.repository.WorkOrderInventoryRepository;
 import com.inovapredial.repository.EquipmentRepository;
 import com.inovapredial.specification.WorkOrderSpecification;
+import com.inovapredial.specification.TenantSpecification;
 import com.inovapredial.validator.WorkOrderValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -47,11 +51,14 @@ public class WorkOrderService {
     private final WorkOrderInventoryRepository workOrderInventoryRepository;
     private final EquipmentRepository equipmentRepository;
     private final BuildingService buildingService;
+    private final BuildingAccessGuard buildingAccessGuard;
+    private final PageQueryExecutor pageQueryExecutor;
     private final EquipmentService equipmentService;
     private final EmployeeService employeeService;
     private final InventoryService inventoryService;
     private final SecurityContextService securityContextService;
     private final WorkOrderValidator workOrderValidator;
+    private final BuildingDailyMetricService buildingDailyMetricService;
 
     @Transactional
     public WorkOrder create(WorkOrderRequestDTO dto, String buildingId) {
@@ -59,7 +66,7 @@ public class WorkOrderService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -93,11 +100,17 @@ public class WorkOrderService {
             toSave.setActivityStatus(ActivityStatus.OPEN);
         }
 
+        // As parcelas nascem zeradas (default da coluna); o total informado na abertura é mantido
+        toSave.setMaterialCost(BigDecimal.ZERO);
+        toSave.setLaborCost(BigDecimal.ZERO);
+
         // Alterar status do equipamento para EM_MANUTENCAO quando ordem for aberta
         equipment.setEquipmentStatus(EquipmentStatus.UNDER_MAINTENANCE);
         equipmentRepository.save(equipment);
 
-        return workOrderRepository.save(toSave);
+        WorkOrder saved = workOrderRepository.save(toSave);
+        buildingDailyMetricService.refresh(building.getId(), saved.getOpeningDate());
+        return saved;
     }
 
     @Transactional
@@ -106,11 +119,14 @@ public class WorkOrderService {
         Building building = buildingService.findById(buildingId);
         
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
-        var workOrderToUpdate = findByIdAndBuilding(id, buildingId);
+        // O equipamento é carregado junto: concluir ou cancelar a ordem altera o status dele
+        var workOrderToUpdate = workOrderRepository.findWithEquipmentByIdAndBuilding(UUID.fromString(id), building)
+                .orElseThrow(() -> new NotFoundException("WorkOrder not found"));
+        LocalDateTime previousOpeningDate = workOrderToUpdate.getOpeningDate();
 
         // Se equipmentId foi fornecido, buscar nova equipment
         if (dto.equipmentId() != null) {
@@ -153,7 +169,9 @@ public class WorkOrderService {
 
         }
 
-        return workOrderRepository.save(workOrderToUpdate);
+        WorkOrder saved = workOrderRepository.save(workOrderToUpdate);
+        buildingDailyMetricService.refresh(building.getId(), previousOpeningDate, saved.getOpeningDate());
+        return saved;
     }
 
     public WorkOrder findByIdAndBuilding(String id, String buildingId) {
@@ -161,7 +179,7 @@ public class WorkOrderService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -169,43 +187,28 @@ public class WorkOrderService {
                 .orElseThrow(() -> new NotFoundException("WorkOrder not found"));
     }
 
+    @Transactional
     public void delete(String id, String buildingId) {
         var workOrder = findByIdAndBuilding(id, buildingId);
         workOrderRepository.delete(workOrder);
+        buildingDailyMetricService.refresh(workOrder.getBuilding().getId(), workOrder.getOpeningDate());
     }
 
-    public PageResponseDTO<WorkOrderResponseDTO> findAllWithFilters(WorkOrderFilterDTO filter, String buildingId, int page, int size, String sortBy, String sortDirection) {
+    public PageResponseDTO<WorkOrderResponseDTO> findAllWithFilters(WorkOrderFilterDTO filter, String buildingId, PageQueryDTO pageQuery) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
-
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
         
-        // Criar specification que inclui filtro por building
-        Specification<WorkOrder> spec = WorkOrderSpecification.withFilters(filter, currentUser)
-                .and((root, query, criteriaBuilder) -> 
-                    criteriaBuilder.equal(root.get("building"), building));
+        // Acesso ao prédio já verificado: o filtro de tenant é só o building_id
+        Specification<WorkOrder> spec = TenantSpecification.<WorkOrder>ofBuilding(building)
+                .and(WorkOrderSpecification.withFilters(filter));
 
-        Page<WorkOrder> workOrderPage = workOrderRepository.findAll(spec, pageable);
-        
-        List<WorkOrderResponseDTO> content = workOrderPage.getContent().stream()
-                .map(mapper::toResponseDTO)
-                .toList();
-        
-        return PageResponseDTO.<WorkOrderResponseDTO>builder()
-                .content(content)
-                .pageNumber(page)
-                .pageSize(size)
-                .totalElements(workOrderPage.getTotalElements())
-                .totalPages(workOrderPage.getTotalPages())
-                .hasNext(workOrderPage.hasNext())
-                .hasPrevious(workOrderPage.hasPrevious())
-                .build();
+        return pageQueryExecutor.findAll(ListProjections.WORK_ORDER,
+                PageQueryExecutor.Scope.of(WorkOrder.class, "building_id", building.getId()), spec, pageQuery);
     }
 
     @Transactional
@@ -214,7 +217,7 @@ public class WorkOrderService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -224,14 +227,7 @@ public class WorkOrderService {
         // Buscar o item do inventário
         Inventory inventory = inventoryService.findByIdAndBuilding(dto.inventoryId(), buildingId);
 
-        // Verificar disponibilidade no estoque usando o método do InventoryService
-        Integer availableStock = inventoryService.getAvailableStock(dto.inventoryId(), buildingId);
-        if (availableStock < dto.quantity()) {
-            throw new InsufficientStockException(
-                String.format("Estoque insuficiente. Disponível: %d, Solicitado: %d", 
-                    availableStock, dto.quantity())
-            );
-        }
+        // A disponibilidade é verificada pela própria baixa (reduceStock), que lança InsufficientStockException
 
         // Verificar se o item já existe na ordem de serviço
         WorkOrderInventoryId id = new WorkOrderInventoryId();
@@ -243,10 +239,10 @@ public class WorkOrderService {
         if (existingItem != null) {
             // Atualizar quantidade existente
             int newQuantity = existingItem.getQuantity() + dto.quantity();
-
+            BigDecimal previousCost = existingItem.getTotalCost() != null ? existingItem.getTotalCost() : BigDecimal.ZERO;
             
             // Dar baixa no estoque apenas da quantidade adicional
-            inventoryService.reduceStock(dto.inventoryId(), dto.quantity(), buildingId);
+            inventoryService.reduceStock(dto.inventoryId(), dto.quantity(), buildingId, workOrder.getId());
             
             existingItem.setQuantity(newQuantity);
             existingItem.setTotalCost(inventory.getCost().multiply(BigDecimal.valueOf(newQuantity)));
@@ -254,8 +250,9 @@ public class WorkOrderService {
             
             workOrderInventoryRepository.save(existingItem);
             
-            // Atualizar total da ordem de serviço
-            updateWorkOrderTotalCost(workOrder);
+            // Somar ao total da ordem apenas a variação do item
+            addMaterialCost(workOrder, existingItem.getTotalCost().subtract(previousCost));
+            buildingDailyMetricService.refresh(building.getId(), workOrder.getOpeningDate());
             
             return new WorkOrderInventoryResponseDTO(
                 dto.inventoryId(),
@@ -267,7 +264,7 @@ public class WorkOrderService {
             );
         } else {
             // Dar baixa no estoque
-            inventoryService.reduceStock(dto.inventoryId(), dto.quantity(), buildingId);
+            inventoryService.reduceStock(dto.inventoryId(), dto.quantity(), buildingId, workOrder.getId());
             
             // Criar novo item na ordem de serviço
             BigDecimal totalCost = inventory.getCost().multiply(BigDecimal.valueOf(dto.quantity()));
@@ -283,8 +280,9 @@ public class WorkOrderService {
             
             workOrderInventoryRepository.save(newItem);
             
-            // Atualizar total da ordem de serviço
-            updateWorkOrderTotalCost(workOrder);
+            // Somar o custo do novo item ao total da ordem de serviço
+            addMaterialCost(workOrder, totalCost);
+            buildingDailyMetricService.refresh(building.getId(), workOrder.getOpeningDate());
             
             return new WorkOrderInventoryResponseDTO(
                 dto.inventoryId(),
@@ -297,13 +295,89 @@ public class WorkOrderService {
         }
     }
 
+    @Transactional
+    public List<WorkOrderInventoryResponseDTO> addInventoryItems(String workOrderId, List<WorkOrderInventoryRequestDTO> dtos, String buildingId) {
+        OwnUser currentUser = securityContextService.getCurrentUser();
+        Building building = buildingService.findById(buildingId);
+
+        // Verificar se o usuário tem acesso ao building
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
+            throw new NotFoundException("Building not found");
+        }
+
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um item");
+        }
+
+        // Acesso já verificado: o prédio carregado acima serve para as demais buscas
+        WorkOrder workOrder = workOrderRepository.findByIdAndBuilding(UUID.fromString(workOrderId), building)
+                .orElseThrow(() -> new NotFoundException("WorkOrder not found"));
+
+        // Linhas do mesmo item são somadas; a ordem por id é a ordem de bloqueio no estoque
+        SortedMap<UUID, Integer> quantities = new TreeMap<>();
+        for (WorkOrderInventoryRequestDTO dto : dtos) {
+            // @Valid não alcança os elementos da lista no corpo da requisição
+            if (dto == null || dto.inventoryId() == null || dto.quantity() == null || dto.quantity() <= 0) {
+                throw new IllegalArgumentException("Cada item precisa de inventoryId e quantidade positiva");
+            }
+            quantities.merge(UUID.fromString(dto.inventoryId()), dto.quantity(), Integer::sum);
+        }
+
+        // Baixa tudo ou nada: item inexistente ou sem saldo cancela a requisição inteira
+        List<Inventory> inventories = inventoryService.reduceStock(building, quantities, workOrder.getId());
+
+        Map<UUID, WorkOrderInventory> existingItems = workOrderInventoryRepository
+                .findByWorkOrderIdAndInventoryIdIn(workOrder.getId(), quantities.keySet()).stream()
+                .collect(Collectors.toMap(item -> item.getId().getInventoryId(), Function.identity()));
+
+        LocalDateTime outputDate = LocalDateTime.now();
+        BigDecimal costDelta = BigDecimal.ZERO;
+        List<WorkOrderInventory> items = new ArrayList<>();
+        for (Inventory inventory : inventories) {
+            WorkOrderInventory item = existingItems.get(inventory.getId());
+            if (item == null) {
+                WorkOrderInventoryId id = new WorkOrderInventoryId();
+                id.setWorkOrderId(workOrder.getId());
+                id.setInventoryId(inventory.getId());
+                item = WorkOrderInventory.builder()
+                    .id(id)
+                    .workOrder(workOrder)
+                    .inventory(inventory)
+                    .quantity(0)
+                    .build();
+            }
+            BigDecimal previousCost = item.getTotalCost() != null ? item.getTotalCost() : BigDecimal.ZERO;
+
+            item.setQuantity(item.getQuantity() + quantities.get(inventory.getId()));
+            item.setTotalCost(inventory.getCost().multiply(BigDecimal.valueOf(item.getQuantity())));
+            item.setOutputDate(outputDate);
+            costDelta = costDelta.add(item.getTotalCost().subtract(previousCost));
+            items.add(item);
+        }
+        workOrderInventoryRepository.saveAll(items);
+
+        // Uma única variação no custo da ordem para o lote inteiro
+        addMaterialCost(workOrder, costDelta);
+        buildingDailyMetricService.refresh(building.getId(), workOrder.getOpeningDate());
+
+        return items.stream()
+            .map(item -> new WorkOrderInventoryResponseDTO(
+                item.getInventory().getId().toString(),
+                item.getInventory().getName(),
+                item.getQuantity(),
+                item.getInventory().getCost(),
+                item.getTotalCost(),
+                item.getOutputDate()))
+            .toList();
+    }
+
     @Transactional
     public void removeInventoryItem(String workOrderId, String inventoryId, String buildingId) {
         OwnUser currentUser = securityContextService.getCurrentUser();
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
@@ -319,13 +393,16 @@ public class WorkOrderService {
             .orElseThrow(() -> new NotFoundException("Item não encontrado na ordem de serviço"));
 
         // Restaurar o estoque antes de remover o item
-        inventoryService.restoreStock(inventoryId, item.getQuantity(), buildingId);
+        inventoryService.restoreStock(inventoryId, item.getQuantity(), buildingId, workOrder.getId());
 
         // Remover o item
         workOrderInventoryRepository.delete(item);
 
-        // Atualizar total da ordem de serviço
-        updateWorkOrderTotalCost(workOrder);
+        // Descontar o custo do item do total da ordem de serviço
+        if (item.getTotalCost() != null) {
+            addMaterialCost(workOrder, item.getTotalCost().negate());
+        }
+        buildingDailyMetricService.refresh(building.getId(), workOrder.getOpeningDate());
     }
 
     public List<WorkOrderInventoryResponseDTO> getWorkOrderInventory(String workOrderId, String buildingId) {
@@ -333,36 +410,21 @@ public class WorkOrderService {
         Building building = buildingService.findById(buildingId);
 
         // Verificar se o usuário tem acesso ao building
-        if (!building.getUsers().contains(currentUser)) {
+        if (!buildingAccessGuard.hasAccess(currentUser, building)) {
             throw new NotFoundException("Building not found");
         }
 
         // Buscar a ordem de serviço
         WorkOrder workOrder = findByIdAndBuilding(workOrderId, buildingId);
 
-        // Buscar todos os itens da ordem de serviço
-        List<WorkOrderInventory> items = workOrderInventoryRepository.findByWorkOrder(workOrder);
-
-        return items.stream()
-            .map(item -> new WorkOrderInventoryResponseDTO(
-                item.getInventory().getId().toString(),
-                item.getInventory().getName(),
-                item.getQuantity(),
-                item.getInventory().getCost(),
-                item.getTotalCost(),
-                item.getOutputDate()
-            ))
-            .toList();
+        // Buscar todos os itens da ordem de serviço, já projetados no DTO
+        return workOrderInventoryRepository.findResponsesByWorkOrderId(workOrder.getId());
     }
 
-    private void updateWorkOrderTotalCost(WorkOrder workOrder) {
-        List<WorkOrderInventory> items = workOrderInventoryRepository.findByWorkOrder(workOrder);
-        
-        BigDecimal totalCost = items.stream()
-            .map(WorkOrderInventory::getTotalCost)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        workOrder.setTotalCost(totalCost);
-        workOrderRepository.save(workOrder);
+    // UPDATE atômico (total_cost = total_cost + delta): custo constante mesmo em ordens com muitos itens
+    private void addMaterialCost(WorkOrder workOrder, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            workOrderRepository.addMaterialCost(workOrder.getId(), delta);
+        }
     }
 }
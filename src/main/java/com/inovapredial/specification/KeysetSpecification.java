@@ -0,0 +1,141 @@
+package com.inovapredial.specification;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Paginação por cursor (keyset): a página seguinte começa depois da chave
+ * (campo de ordenação, id) do último registro, sem OFFSET.
+ * A ordem de nulos segue o padrão do PostgreSQL: por último em ASC, primeiro em DESC.
+ */
+public class KeysetSpecification {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "n";
+    private static final String VALUE_PREFIX = "v:";
+
+    public record Cursor(String sortBy, Sort.Direction direction, String value, UUID id) {
+    }
+
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortBy);
+        return ID.equals(sortBy) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    // Cursor a partir do valor do campo de ordenação e do id do último registro da página
+    public static String encode(String sortBy, Sort.Direction direction, Object value, Object id) {
+        String raw = String.join(SEPARATOR,
+                sortBy,
+                direction.name(),
+                String.valueOf(id),
+                value == null ? NULL_VALUE : VALUE_PREFIX + asString(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor, String sortBy, Sort.Direction direction) {
+        String[] parts;
+        UUID id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            id = parts.length == 4 ? UUID.fromString(parts[2]) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+        if (id == null || !(NULL_VALUE.equals(parts[3]) || parts[3].startsWith(VALUE_PREFIX))) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+        // O cursor só vale para a mesma ordenação em que foi gerado
+        if (!parts[0].equals(sortBy) || !parts[1].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor de paginação não corresponde à ordenação informada");
+        }
+        String value = NULL_VALUE.equals(parts[3]) ? null : parts[3].substring(VALUE_PREFIX.length());
+        return new Cursor(sortBy, direction, value, id);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(Cursor cursor) {
+        boolean ascending = cursor.direction().isAscending();
+        return (root, query, criteriaBuilder) -> {
+            Path<UUID> idPath = root.get(ID);
+            Predicate idAfter = ascending
+                    ? criteriaBuilder.greaterThan(idPath, cursor.id())
+                    : criteriaBuilder.lessThan(idPath, cursor.id());
+            if (ID.equals(cursor.sortBy())) {
+                return idAfter;
+            }
+
+            Path<?> sortPath = path(root, cursor.sortBy());
+            if (cursor.value() == null) {
+                // Nulos vêm por último em ASC e primeiro em DESC
+                Predicate nullTie = criteriaBuilder.and(criteriaBuilder.isNull(sortPath), idAfter);
+                return ascending ? nullTie : criteriaBuilder.or(criteriaBuilder.isNotNull(sortPath), nullTie);
+            }
+
+            Comparable value = parse(cursor.value(), sortPath.getJavaType());
+            Expression<Comparable> sortExpression = (Expression<Comparable>) sortPath;
+            // Limite redundante (>= / <=) para o índice (prédio, campo, id) resolver como range scan
+            Predicate bound = ascending
+                    ? criteriaBuilder.greaterThanOrEqualTo(sortExpression, value)
+                    : criteriaBuilder.lessThanOrEqualTo(sortExpression, value);
+            Predicate beyond = ascending
+                    ? criteriaBuilder.greaterThan(sortExpression, value)
+                    : criteriaBuilder.lessThan(sortExpression, value);
+            Predicate tie = criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), idAfter);
+            Predicate afterValue = criteriaBuilder.and(bound, criteriaBuilder.or(beyond, tie));
+            return ascending
+                    ? criteriaBuilder.or(afterValue, criteriaBuilder.isNull(sortPath))
+                    : afterValue;
+        };
+    }
+
+    public static Path<?> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static String asString(Object value) {
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) return value;
+            if (type == UUID.class) return UUID.fromString(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalTime.class) return LocalTime.parse(value);
+            if (type == BigDecimal.class) return new BigDecimal(value);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(value);
+            if (type == Long.class || type == long.class) return Long.valueOf(value);
+            if (type == Double.class || type == double.class) return Double.valueOf(value);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(value);
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+        throw new IllegalArgumentException("Campo de ordenação não suportado na paginação por cursor: " + type.getSimpleName());
+    }
+}
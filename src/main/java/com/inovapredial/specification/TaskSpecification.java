@@ -1,11 +1,9 @@
 package com.inovapredial.specification;
 
 import com.inovapredial.dto.TaskFilterDTO;
-import com.inovapredial.model.Building;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.model.Task;
 import com.inovapredial.model.WorkOrder;
-import jakarta.persistence.criteria.Join;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -15,31 +13,31 @@ import java.time.LocalDateTime;
 public class TaskSpecification {
 
     public static Specification<Task> withFilters(TaskFilterDTO filter, OwnUser currentUser) {
-        return Specification.where(byUser(currentUser))
-                .and(filter != null ? byTitle(filter.title()) : null)
-                .and(filter != null ? byDescription(filter.description()) : null)
-                .and(filter != null ? byActivityStatus(filter.activityStatus()) : null)
-                .and(filter != null ? byEstimatedTimeMin(filter.estimatedTimeMin()) : null)
-                .and(filter != null ? byEstimatedTimeMax(filter.estimatedTimeMax()) : null)
-                .and(filter != null ? byStartDateStart(filter.startDateStart()) : null)
-                .and(filter != null ? byStartDateEnd(filter.startDateEnd()) : null)
-                .and(filter != null ? byEndDateStart(filter.endDateStart()) : null)
-                .and(filter != null ? byEndDateEnd(filter.endDateEnd()) : null)
-                .and(filter != null ? byTimeSpentMin(filter.timeSpentMin()) : null)
-                .and(filter != null ? byTimeSpentMax(filter.timeSpentMax()) : null)
-                .and(filter != null ? byCostMin(filter.costMin()) : null)
-                .and(filter != null ? byCostMax(filter.costMax()) : null)
-                .and(filter != null ? byWorkOrderId(filter.workOrderId()) : null)
-                .and(filter != null ? byEmployeeId(filter.employeeId()) : null);
-    }
-
-    private static Specification<Task> byUser(OwnUser user) {
-        return (root, query, criteriaBuilder) -> {
-            query.distinct(true);
-            Join<Task, Building> buildingJoin = root.join("building");
-            Join<Building, OwnUser> usersJoin = buildingJoin.join("users");
-            return criteriaBuilder.equal(usersJoin, user);
-        };
+        return Specification.<Task>where(TenantSpecification.memberOf(currentUser))
+                .and(withFilters(filter));
+    }
+
+    // Sem o predicado de vínculo do usuário: para buscas em um prédio com acesso já verificado
+    public static Specification<Task> withFilters(TaskFilterDTO filter) {
+        if (filter == null) {
+            return Specification.unrestricted();
+        }
+        return Specification.allOf(
+                byTitle(filter.title()),
+                byDescription(filter.description()),
+                byActivityStatus(filter.activityStatus()),
+                byEstimatedTimeMin(filter.estimatedTimeMin()),
+                byEstimatedTimeMax(filter.estimatedTimeMax()),
+                byStartDateStart(filter.startDateStart()),
+                byStartDateEnd(filter.startDateEnd()),
+                byEndDateStart(filter.endDateStart()),
+                byEndDateEnd(filter.endDateEnd()),
+                byTimeSpentMin(filter.timeSpentMin()),
+                byTimeSpentMax(filter.timeSpentMax()),
+                byCostMin(filter.costMin()),
+                byCostMax(filter.costMax()),
+                byWorkOrderId(filter.workOrderId()),
+                byEmployeeId(filter.employeeId()));
     }
 
     private static Specification<Task> byTitle(String title) {
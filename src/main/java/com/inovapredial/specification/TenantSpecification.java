@@ -0,0 +1,35 @@
+package com.inovapredial.specification;
+
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicados de tenant (prédio) compartilhados pelas Specifications das entidades
+ * que pertencem a um prédio.
+ */
+public class TenantSpecification {
+
+    // Vínculo do usuário com o prédio do registro como EXISTS correlacionado,
+    // sem join na consulta principal e sem DISTINCT
+    public static <T> Specification<T> memberOf(OwnUser user) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Integer> membership = query.subquery(Integer.class);
+            Root<Building> building = membership.from(Building.class);
+            Join<Building, OwnUser> users = building.join("users");
+            membership.select(criteriaBuilder.literal(1))
+                    .where(criteriaBuilder.equal(building.get("id"), root.get("building").get("id")),
+                            criteriaBuilder.equal(users.get("id"), user.getId()));
+            return criteriaBuilder.exists(membership);
+        };
+    }
+
+    // Registros do prédio; usado quando o acesso já foi verificado pelo BuildingAccessGuard
+    public static <T> Specification<T> ofBuilding(Building building) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("building").get("id"), building.getId());
+    }
+}
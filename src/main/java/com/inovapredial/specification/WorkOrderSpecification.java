@@ -1,10 +1,8 @@
 package com.inovapredial.specification;
 
 import com.inovapredial.dto.WorkOrderFilterDTO;
-import com.inovapredial.model.Building;
 import com.inovapredial.model.OwnUser;
 import com.inovapredial.model.WorkOrder;
-import jakarta.persistence.criteria.Join;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -14,28 +12,28 @@ import java.time.LocalDateTime;
 public class WorkOrderSpecification {
 
     public static Specification<WorkOrder> withFilters(WorkOrderFilterDTO filter, OwnUser currentUser) {
-        return Specification.where(byUser(currentUser))
-                .and(filter != null ? byDescription(filter.description()) : null)
-                .and(filter != null ? byOpeningDateStart(filter.openingDateStart()) : null)
-                .and(filter != null ? byOpeningDateEnd(filter.openingDateEnd()) : null)
-                .and(filter != null ? byClosingDateStart(filter.closingDateStart()) : null)
-                .and(filter != null ? byClosingDateEnd(filter.closingDateEnd()) : null)
-                .and(filter != null ? byActivityStatus(filter.activityStatus()) : null)
-                .and(filter != null ? byPriority(filter.priority()) : null)
-                .and(filter != null ? byMaintenanceType(filter.maintenanceType()) : null)
-                .and(filter != null ? byEquipmentId(filter.equipmentId()) : null)
-                .and(filter != null ? byEmployeeId(filter.employeeId()) : null)
-                .and(filter != null ? byTotalCostMin(filter.totalCostMin()) : null)
-                .and(filter != null ? byTotalCostMax(filter.totalCostMax()) : null);
+        return Specification.<WorkOrder>where(TenantSpecification.memberOf(currentUser))
+                .and(withFilters(filter));
     }
 
-    private static Specification<WorkOrder> byUser(OwnUser user) {
-        return (root, query, criteriaBuilder) -> {
-            query.distinct(true);
-            Join<WorkOrder, Building> buildingJoin = root.join("building");
-            Join<Building, OwnUser> usersJoin = buildingJoin.join("users");
-            return criteriaBuilder.equal(usersJoin, user);
-        };
+    // Sem o predicado de vínculo do usuário: para buscas em um prédio com acesso já verificado
+    public static Specification<WorkOrder> withFilters(WorkOrderFilterDTO filter) {
+        if (filter == null) {
+            return Specification.unrestricted();
+        }
+        return Specification.allOf(
+                byDescription(filter.description()),
+                byOpeningDateStart(filter.openingDateStart()),
+                byOpeningDateEnd(filter.openingDateEnd()),
+                byClosingDateStart(filter.closingDateStart()),
+                byClosingDateEnd(filter.closingDateEnd()),
+                byActivityStatus(filter.activityStatus()),
+                byPriority(filter.priority()),
+                byMaintenanceType(filter.maintenanceType()),
+                byEquipmentId(filter.equipmentId()),
+                byEmployeeId(filter.employeeId()),
+                byTotalCostMin(filter.totalCostMin()),
+                byTotalCostMax(filter.totalCostMax()));
     }
 
     private static Specification<WorkOrder> byDescription(String description) {
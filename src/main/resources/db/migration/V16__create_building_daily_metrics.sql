@@ -0,0 +1,60 @@
+-- Consolidado diário das métricas por prédio, tipo de manutenção e status
+CREATE TABLE building_daily_metrics (
+    building_id UUID NOT NULL,
+    metric_date DATE NOT NULL,
+    maintenance_type VARCHAR(50) NOT NULL,
+    activity_status VARCHAR(50) NOT NULL,
+    work_order_count BIGINT NOT NULL DEFAULT 0,
+    work_order_cost NUMERIC(14,2) NOT NULL DEFAULT 0,
+    work_order_cost_count BIGINT NOT NULL DEFAULT 0,
+    completion_seconds NUMERIC NOT NULL DEFAULT 0,
+    completion_count BIGINT NOT NULL DEFAULT 0,
+    material_cost NUMERIC(14,2) NOT NULL DEFAULT 0,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    task_cost NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (building_id, metric_date, maintenance_type, activity_status)
+);
+
+ALTER TABLE building_daily_metrics
+ADD CONSTRAINT fk_building_daily_metrics_building
+FOREIGN KEY (building_id) REFERENCES building(id)
+ON UPDATE CASCADE ON DELETE CASCADE;
+
+-- Carga inicial a partir dos dados existentes
+INSERT INTO building_daily_metrics (building_id, metric_date, maintenance_type, activity_status,
+                                    work_order_count, work_order_cost, work_order_cost_count,
+                                    completion_seconds, completion_count, material_cost,
+                                    task_count, task_cost)
+SELECT building_id, metric_date, maintenance_type, activity_status,
+       SUM(work_order_count), SUM(work_order_cost), SUM(work_order_cost_count),
+       SUM(completion_seconds), SUM(completion_count), SUM(material_cost),
+       SUM(task_count), SUM(task_cost)
+FROM (
+    SELECT wo.building_id, CAST(wo.opening_date AS DATE) AS metric_date, COALESCE(wo.maintenance_type, 'UNKNOWN') AS maintenance_type,
+           COALESCE(wo.activity_status, 'UNKNOWN') AS activity_status,
+           COUNT(*) AS work_order_count, COALESCE(SUM(wo.total_cost), 0) AS work_order_cost,
+           COUNT(wo.total_cost) AS work_order_cost_count,
+           COALESCE(SUM(EXTRACT(EPOCH FROM wo.closing_date) - EXTRACT(EPOCH FROM wo.opening_date))
+               FILTER (WHERE wo.activity_status = 'COMPLETED' AND wo.closing_date IS NOT NULL), 0) AS completion_seconds,
+           COUNT(*) FILTER (WHERE wo.activity_status = 'COMPLETED' AND wo.closing_date IS NOT NULL) AS completion_count,
+           0 AS material_cost, 0 AS task_count, 0 AS task_cost
+    FROM work_order wo
+    WHERE wo.building_id IS NOT NULL AND wo.opening_date IS NOT NULL
+    GROUP BY 1, 2, 3, 4
+    UNION ALL
+    SELECT wo.building_id, CAST(wo.opening_date AS DATE), COALESCE(wo.maintenance_type, 'UNKNOWN'), COALESCE(wo.activity_status, 'UNKNOWN'),
+           0, 0, 0, 0, 0, COALESCE(SUM(woi.total_cost), 0), 0, 0
+    FROM work_order wo
+    JOIN work_order_inventory woi ON woi.work_order_id = wo.id
+    WHERE wo.building_id IS NOT NULL AND wo.opening_date IS NOT NULL
+    GROUP BY 1, 2, 3, 4
+    UNION ALL
+    SELECT t.building_id, CAST(t.start_date AS DATE), COALESCE(tw.maintenance_type, 'UNKNOWN'),
+           COALESCE(t.activity_status, 'UNKNOWN'),
+           0, 0, 0, 0, 0, 0, COUNT(*), COALESCE(SUM(t.cost), 0)
+    FROM task t
+    LEFT JOIN work_order tw ON tw.id = t.work_order_id
+    WHERE t.building_id IS NOT NULL AND t.start_date IS NOT NULL
+    GROUP BY 1, 2, 3, 4
+) parts
+GROUP BY building_id, metric_date, maintenance_type, activity_status;
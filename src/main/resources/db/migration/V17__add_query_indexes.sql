@@ -0,0 +1,26 @@
+-- Índices para os padrões de acesso dos repositórios e das consultas de métricas
+
+-- Ordens de serviço: listagens/métricas por prédio e período, validação de ordem aberta por equipamento
+CREATE INDEX IF NOT EXISTS idx_work_order_building_opening_date ON work_order (building_id, opening_date);
+CREATE INDEX IF NOT EXISTS idx_work_order_equipment_status ON work_order (equipment_id, activity_status);
+CREATE INDEX IF NOT EXISTS idx_work_order_employee ON work_order (employee_id);
+
+-- Tarefas: por ordem de serviço, por prédio e período, por funcionário
+CREATE INDEX IF NOT EXISTS idx_task_work_order ON task (work_order_id);
+CREATE INDEX IF NOT EXISTS idx_task_building_start_date ON task (building_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_task_employee ON task (employee_id);
+
+-- Materiais da ordem de serviço: a PK (work_order_id, inventory_id) já atende a busca por ordem;
+-- o índice por item atende os joins a partir do estoque
+CREATE INDEX IF NOT EXISTS idx_work_order_inventory_inventory ON work_order_inventory (inventory_id);
+
+-- Vínculo usuário/prédio: a PK começa por ownuser_id; a verificação de acesso parte do prédio
+CREATE INDEX IF NOT EXISTS idx_ownuser_building_building_ownuser ON ownuser_building (building_id, ownuser_id);
+
+-- Cadastros consultados por prédio
+CREATE INDEX IF NOT EXISTS idx_equipment_building ON equipment (building_id);
+CREATE INDEX IF NOT EXISTS idx_employee_building ON employee (building_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_building ON inventory (building_id);
+CREATE INDEX IF NOT EXISTS idx_maintenance_plan_building ON maintenance_plan (building_id);
+CREATE INDEX IF NOT EXISTS idx_equipment_plan_building ON equipment_plan (building_id);
+CREATE INDEX IF NOT EXISTS idx_equipment_plan_plan ON equipment_plan (plan_id);
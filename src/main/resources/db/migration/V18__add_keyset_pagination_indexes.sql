@@ -0,0 +1,7 @@
+-- Paginação por cursor: o id entra como desempate da ordenação, então os índices
+-- de listagem por prédio passam a incluí-lo e a busca da próxima página vira um range scan
+CREATE INDEX IF NOT EXISTS idx_work_order_building_opening_date_id ON work_order (building_id, opening_date, id);
+DROP INDEX IF EXISTS idx_work_order_building_opening_date;
+
+CREATE INDEX IF NOT EXISTS idx_task_building_start_date_id ON task (building_id, start_date, id);
+DROP INDEX IF EXISTS idx_task_building_start_date;
@@ -0,0 +1,49 @@
+-- Razão de movimentações de estoque (somente inserção): quantity é a variação com sinal
+CREATE TABLE inventory_movement (
+    id UUID NOT NULL,
+    inventory_id UUID NOT NULL,
+    building_id UUID NOT NULL,
+    movement_type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    work_order_id UUID,
+    occurred_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE inventory_movement
+ADD CONSTRAINT fk_inventory_movement_inventory
+FOREIGN KEY (inventory_id) REFERENCES inventory(id)
+ON UPDATE CASCADE ON DELETE CASCADE;
+
+-- Saldo em um instante e histórico do item: cauda de movimentações após o último snapshot
+CREATE INDEX idx_inventory_movement_inventory_occurred_at ON inventory_movement (inventory_id, occurred_at);
+
+-- Snapshot compactado do saldo de cada item: soma de todas as movimentações até snapshot_at
+CREATE TABLE inventory_stock_snapshot (
+    inventory_id UUID NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    quantity INTEGER NOT NULL,
+    PRIMARY KEY (inventory_id, snapshot_at)
+);
+
+ALTER TABLE inventory_stock_snapshot
+ADD CONSTRAINT fk_inventory_stock_snapshot_inventory
+FOREIGN KEY (inventory_id) REFERENCES inventory(id)
+ON UPDATE CASCADE ON DELETE CASCADE;
+
+-- Carga inicial: saídas já registradas nas ordens de serviço...
+INSERT INTO inventory_movement (id, inventory_id, building_id, movement_type, quantity, work_order_id, occurred_at)
+SELECT gen_random_uuid(), woi.inventory_id, i.building_id, 'WITHDRAWAL', -woi.quantity, woi.work_order_id,
+       COALESCE(woi.output_date, now())
+FROM work_order_inventory woi
+JOIN inventory i ON i.id = woi.inventory_id;
+
+-- ...e um saldo de abertura, anterior à primeira saída, que fecha com a quantidade atual
+INSERT INTO inventory_movement (id, inventory_id, building_id, movement_type, quantity, work_order_id, occurred_at)
+SELECT gen_random_uuid(), i.id, i.building_id, 'ADJUSTMENT',
+       COALESCE(i.quantity, 0) + COALESCE(SUM(woi.quantity), 0), NULL,
+       COALESCE(MIN(woi.output_date), now()) - INTERVAL '1 second'
+FROM inventory i
+LEFT JOIN work_order_inventory woi ON woi.inventory_id = i.id
+GROUP BY i.id, i.building_id, i.quantity
+HAVING COALESCE(i.quantity, 0) + COALESCE(SUM(woi.quantity), 0) <> 0;
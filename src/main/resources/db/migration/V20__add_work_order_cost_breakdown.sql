@@ -0,0 +1,24 @@
+-- Composição do custo da ordem de serviço, mantida por variações atômicas junto com total_cost:
+-- material_cost = soma dos materiais (work_order_inventory), labor_cost = soma das tarefas concluídas
+ALTER TABLE work_order ADD COLUMN material_cost NUMERIC(10,2) NOT NULL DEFAULT 0;
+ALTER TABLE work_order ADD COLUMN labor_cost NUMERIC(10,2) NOT NULL DEFAULT 0;
+
+-- Carga inicial a partir das linhas de origem; total_cost é mantido como está
+UPDATE work_order wo
+SET material_cost = m.cost
+FROM (
+    SELECT work_order_id, SUM(total_cost) AS cost
+    FROM work_order_inventory
+    GROUP BY work_order_id
+) m
+WHERE m.work_order_id = wo.id AND m.cost IS NOT NULL;
+
+UPDATE work_order wo
+SET labor_cost = l.cost
+FROM (
+    SELECT work_order_id, SUM(cost) AS cost
+    FROM task
+    WHERE activity_status = 'COMPLETED' AND work_order_id IS NOT NULL
+    GROUP BY work_order_id
+) l
+WHERE l.work_order_id = wo.id AND l.cost IS NOT NULL;
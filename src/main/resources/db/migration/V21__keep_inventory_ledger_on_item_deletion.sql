@@ -0,0 +1,5 @@
+-- O razão e os snapshots são histórico: excluir o item não pode apagá-los em cascata.
+-- Sem chave estrangeira, os lançamentos sobrevivem ao item (a exclusão registra um lançamento de encerramento)
+ALTER TABLE inventory_movement DROP CONSTRAINT fk_inventory_movement_inventory;
+
+ALTER TABLE inventory_stock_snapshot DROP CONSTRAINT fk_inventory_stock_snapshot_inventory;
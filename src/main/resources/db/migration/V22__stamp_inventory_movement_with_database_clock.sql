@@ -0,0 +1,3 @@
+-- Instante do lançamento pelo relógio do banco (início da transação que o grava), igual em
+-- todas as instâncias da API; a compactação compara esse instante com o das transações abertas
+ALTER TABLE inventory_movement ALTER COLUMN occurred_at SET DEFAULT LOCALTIMESTAMP;
@@ -0,0 +1,92 @@
+package com.inovapredial;
+
+import com.inovapredial.model.Address;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.BuildingType;
+import com.inovapredial.model.enums.UserRole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base dos testes de integração contra um PostgreSQL real, informado em IT_DB_URL (com
+ * IT_DB_USER e IT_DB_PASSWORD). Cada classe migra e usa um schema próprio; o usuário
+ * precisa poder criar schemas e alterar session_replication_role (cargas sem as FKs).
+ * As condições do JUnit não são herdadas: cada subclasse declara
+ * {@code @EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")}.
+ */
+public abstract class PostgresIntegrationTest {
+
+    protected static String dbUrl() {
+        return System.getenv("IT_DB_URL");
+    }
+
+    protected static String dbUser() {
+        return System.getenv("IT_DB_USER");
+    }
+
+    protected static String dbPassword() {
+        return System.getenv("IT_DB_PASSWORD");
+    }
+
+    // Datasource e Flyway no schema da classe; toda conexão do pool já começa nele
+    protected static Map<String, Object> databaseProperties(String schema) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", dbUrl());
+        properties.put("spring.datasource.username", dbUser());
+        properties.put("spring.datasource.password", dbPassword());
+        properties.put("spring.datasource.hikari.connection-init-sql", "SET search_path TO " + schema);
+        properties.put("spring.flyway.schemas", schema);
+        return properties;
+    }
+
+    protected static void registerDatabase(DynamicPropertyRegistry registry, String schema) {
+        databaseProperties(schema).forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    protected static void truncateTables(JdbcTemplate jdbcTemplate, String schema) {
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT tablename FROM pg_tables
+                WHERE schemaname = ? AND tablename <> 'flyway_schema_history'
+                """, String.class, schema);
+        if (!tables.isEmpty()) {
+            jdbcTemplate.execute("TRUNCATE TABLE " + String.join(", ", tables) + " CASCADE");
+        }
+    }
+
+    protected static Building building(String name) {
+        return Building.builder()
+                .name(name)
+                .buildingType(BuildingType.COMMERCIAL)
+                .address(Address.builder().street("Rua A").number(1).city("São Paulo").state("SP").build())
+                .build();
+    }
+
+    protected static OwnUser admin(String username, Building building) {
+        return admin(username, "not-used", building);
+    }
+
+    protected static OwnUser admin(String username, String password, Building building) {
+        return OwnUser.builder()
+                .username(username)
+                .email(username + "@inovapredial.com")
+                .password(password)
+                .role(UserRole.ADMIN)
+                .buildings(new HashSet<>(Set.of(building)))
+                .build();
+    }
+
+    // Usuário autenticado na thread do teste, como após o SecurityFilter
+    protected static void authenticate(OwnUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,361 @@
+package com.inovapredial.controller;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Employee;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.EquipmentPlan;
+import com.inovapredial.model.EquipmentPlanId;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.MaintenancePlan;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.WorkOrderInventory;
+import com.inovapredial.model.WorkOrderInventoryId;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.ItemType;
+import com.inovapredial.model.enums.MaintenanceType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de consultas por endpoint: cada requisição roda contra uma base populada
+ * e registra, pelas estatísticas do Hibernate, quantos statements preparou,
+ * quantas linhas leu e quanto tempo levou. O teste falha quando um endpoint passa do
+ * orçamento declarado em {@link #endpoints()}, pegando regressões N+1 antes da produção.
+ * O relatório de cada execução fica em target/query-budget-report.csv.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "query_budget_test";
+    private static final String PASSWORD = "query-budget";
+    private static final Path REPORT = Path.of("target", "query-budget-report.csv");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+    private final List<String> report = new ArrayList<>();
+
+    private OwnUser user;
+    private Building building;
+    private Equipment equipment;
+    private Employee employee;
+    private MaintenancePlan maintenancePlan;
+    private WorkOrder workOrder;
+    private Task task;
+    private Inventory inventory;
+    private Inventory spareInventory;
+
+    record Endpoint(String name, HttpMethod method, String uri, String body, int maxStatements) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.show_sql", () -> "false");
+        // Cada requisição mede o cálculo completo, sem o cache de resultados das métricas
+        registry.add("api.metrics.cache.enabled", () -> "false");
+    }
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        truncateTables(jdbcTemplate, SCHEMA);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+        report.add("endpoint,statements,budget,rows,millis");
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, report);
+    }
+
+    // Orçamentos de statements por requisição (o usuário já autenticado, como após o SecurityFilter)
+    List<Endpoint> endpoints() {
+        String b = "buildingId=" + building.getId();
+        return List.of(
+                new Endpoint("POST /auth/login", HttpMethod.POST, "/auth/login",
+                        "{\"login\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}", 1),
+
+                new Endpoint("GET /buildings/{id}", HttpMethod.GET, "/buildings/" + building.getId(), null, 1),
+                new Endpoint("POST /buildings/search", HttpMethod.POST, "/buildings/search", null, 1),
+
+                new Endpoint("GET /equipments/{id}", HttpMethod.GET, "/equipments/" + equipment.getId() + "?" + b, null, 3),
+                new Endpoint("POST /equipments/search", HttpMethod.POST, "/equipments/search?" + b, null, 3),
+
+                new Endpoint("GET /employees/{id}", HttpMethod.GET, "/employees/" + employee.getId() + "?" + b, null, 3),
+                new Endpoint("POST /employees/search", HttpMethod.POST, "/employees/search?" + b, null, 3),
+
+                new Endpoint("GET /maintenance-plans/{id}", HttpMethod.GET,
+                        "/maintenance-plans/" + maintenancePlan.getId() + "?" + b, null, 3),
+                new Endpoint("POST /maintenance-plans/search", HttpMethod.POST, "/maintenance-plans/search?" + b, null, 3),
+
+                new Endpoint("GET /equipment-plans/equipment/{id}", HttpMethod.GET,
+                        "/equipment-plans/equipment/" + equipment.getId() + "?" + b, null, 5),
+
+                new Endpoint("GET /work-orders/{id}", HttpMethod.GET, "/work-orders/" + workOrder.getId() + "?" + b, null, 3),
+                new Endpoint("GET /work-orders/{id}/inventory", HttpMethod.GET,
+                        "/work-orders/" + workOrder.getId() + "/inventory?" + b, null, 5),
+                new Endpoint("POST /work-orders/search", HttpMethod.POST, "/work-orders/search?" + b, null, 3),
+
+                new Endpoint("GET /tasks/{id}", HttpMethod.GET, "/tasks/" + task.getId() + "?" + b, null, 3),
+                new Endpoint("POST /tasks/search", HttpMethod.POST, "/tasks/search?" + b, null, 3),
+
+                new Endpoint("GET /inventories/{id}", HttpMethod.GET, "/inventories/" + inventory.getId() + "?" + b, null, 3),
+                new Endpoint("POST /inventories/search", HttpMethod.POST, "/inventories/search?" + b, null, 3),
+                // Prédio validado + item + relógio do banco + saldo/lançamentos
+                new Endpoint("GET /inventories/{id}/stock", HttpMethod.GET,
+                        "/inventories/" + inventory.getId() + "/stock?" + b, null, 5),
+                new Endpoint("GET /inventories/{id}/movements", HttpMethod.GET,
+                        "/inventories/" + inventory.getId() + "/movements?" + b, null, 5),
+
+                // Prédio validado + uma consulta por seção
+                new Endpoint("POST /metrics/complete", HttpMethod.POST, "/metrics/complete?" + b, null, 7),
+                new Endpoint("POST /metrics/general", HttpMethod.POST, "/metrics/general?" + b, null, 2),
+                new Endpoint("POST /metrics/work-orders", HttpMethod.POST, "/metrics/work-orders?" + b, null, 2),
+                new Endpoint("POST /metrics/equipment", HttpMethod.POST, "/metrics/equipment?" + b, null, 3),
+                new Endpoint("POST /metrics/time-series", HttpMethod.POST, "/metrics/time-series?" + b, null, 3),
+                new Endpoint("POST /metrics/inventory", HttpMethod.POST, "/metrics/inventory?" + b, null, 4),
+                new Endpoint("GET /metrics/cache/stats", HttpMethod.GET, "/metrics/cache/stats", null, 0),
+                new Endpoint("GET /cache/entities/stats", HttpMethod.GET, "/cache/entities/stats", null, 0),
+
+                // Escritas por último, na ordem da lista: alteram o estado lido pelos endpoints acima.
+                // As de ordens e tarefas incluem o recálculo do consolidado diário (advisory lock + refresh do dia)
+                new Endpoint("PUT /inventories/{id}", HttpMethod.PUT, "/inventories/" + inventory.getId() + "?" + b,
+                        "{\"itemType\":\"PART\",\"name\":\"Rolamento 6205\",\"cost\":25.00,\"quantity\":20,"
+                                + "\"minimumStock\":2,\"employeeId\":\"" + employee.getId() + "\"}", 6),
+                new Endpoint("POST /work-orders/{id}/inventory", HttpMethod.POST,
+                        "/work-orders/" + workOrder.getId() + "/inventory?" + b,
+                        "{\"inventoryId\":\"" + inventory.getId() + "\",\"quantity\":1}", 12),
+                // Um item já na ordem e um novo: o número de statements não cresce com o lote
+                new Endpoint("POST /work-orders/{id}/inventory/batch", HttpMethod.POST,
+                        "/work-orders/" + workOrder.getId() + "/inventory/batch?" + b,
+                        "[{\"inventoryId\":\"" + inventory.getId() + "\",\"quantity\":1},"
+                                + "{\"inventoryId\":\"" + spareInventory.getId() + "\",\"quantity\":1}]", 14),
+                new Endpoint("DELETE /work-orders/{id}/inventory/{inventoryId}", HttpMethod.DELETE,
+                        "/work-orders/" + workOrder.getId() + "/inventory/" + inventory.getId() + "?" + b, null, 10),
+                // Conclusão soma o custo na ordem: dois refresh do dia (custo da ordem e tarefa)
+                new Endpoint("PATCH /tasks/{id}/status", HttpMethod.PATCH,
+                        "/tasks/" + task.getId() + "/status?status=COMPLETED&" + b,
+                        "{\"reason\":\"Concluída\"}", 11),
+                new Endpoint("POST /metrics/rollup/rebuild", HttpMethod.POST, "/metrics/rollup/rebuild?" + b, null, 4));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void endpoint_ShouldStayWithinQueryBudget(Endpoint endpoint) throws Exception {
+        // Arrange
+        MockHttpServletRequestBuilder request = request(endpoint.method(), endpoint.uri())
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+        if (endpoint.body() != null) {
+            request.content(endpoint.body());
+        }
+        statistics.clear();
+
+        // Act
+        long start = System.nanoTime();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        long statements = statistics.getPrepareStatementCount();
+        long rows = rowsFetched();
+        report.add(String.join(",", endpoint.name(), String.valueOf(statements),
+                String.valueOf(endpoint.maxStatements()), String.valueOf(rows), String.valueOf(millis)));
+        assertTrue(statements <= endpoint.maxStatements(),
+                endpoint.name() + " executou " + statements + " statements (orçamento: " + endpoint.maxStatements() + ")");
+    }
+
+    // Linhas devolvidas pelas consultas mais as entidades carregadas por id
+    private long rowsFetched() {
+        long rows = statistics.getEntityLoadCount();
+        for (String query : statistics.getQueries()) {
+            rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return rows;
+    }
+
+    private void seed() {
+        building = building("Query budget");
+        entityManager.persist(building);
+
+        user = admin("query-budget", passwordEncoder.encode(PASSWORD), building);
+        entityManager.persist(user);
+
+        Calendar calendar = Calendar.builder()
+                .description("Comercial")
+                .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build();
+        entityManager.persist(calendar);
+
+        equipment = Equipment.builder()
+                .identification("EQ-001")
+                .classification(EquipmentType.EQUIPMENT)
+                .criticality(Criticality.HIGH)
+                .equipmentStatus(EquipmentStatus.ACTIVE)
+                .calendar(calendar)
+                .ownUser(user)
+                .building(building)
+                .build();
+        entityManager.persist(equipment);
+
+        employee = Employee.builder()
+                .name("Técnico")
+                .calendar(calendar)
+                .building(building)
+                .build();
+        entityManager.persist(employee);
+
+        maintenancePlan = MaintenancePlan.builder()
+                .frequencyDays(30)
+                .requiresShutdown(false)
+                .description("Preventiva mensal")
+                .maintenanceType(MaintenanceType.PREVENTIVE)
+                .ownUser(user)
+                .building(building)
+                .build();
+        entityManager.persist(maintenancePlan);
+
+        EquipmentPlanId equipmentPlanId = new EquipmentPlanId();
+        equipmentPlanId.setEquipmentId(equipment.getId());
+        equipmentPlanId.setPlanId(maintenancePlan.getId());
+        entityManager.persist(EquipmentPlan.builder()
+                .id(equipmentPlanId)
+                .equipment(equipment)
+                .maintenancePlan(maintenancePlan)
+                .startDate(LocalDate.now())
+                .nextDueDate(LocalDate.now().plusDays(30))
+                .building(building)
+                .build());
+
+        workOrder = WorkOrder.builder()
+                .description("Troca de rolamento")
+                .openingDate(LocalDateTime.now().minusDays(1))
+                .activityStatus(ActivityStatus.OPEN)
+                .maintenanceType(MaintenanceType.CORRECTIVE)
+                .totalCost(new BigDecimal("150.00"))
+                .equipment(equipment)
+                .employee(employee)
+                .building(building)
+                .build();
+        entityManager.persist(workOrder);
+
+        task = Task.builder()
+                .title("Desmontagem")
+                .activityStatus(ActivityStatus.OPEN)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .cost(new BigDecimal("50.00"))
+                .workOrder(workOrder)
+                .employee(employee)
+                .building(building)
+                .build();
+        entityManager.persist(task);
+
+        inventory = Inventory.builder()
+                .itemType(ItemType.PART)
+                .name("Rolamento 6205")
+                .cost(new BigDecimal("25.00"))
+                .quantity(10)
+                .minimumStock(2)
+                .employee(employee)
+                .building(building)
+                .build();
+        entityManager.persist(inventory);
+
+        spareInventory = Inventory.builder()
+                .itemType(ItemType.PART)
+                .name("Correia A-42")
+                .cost(new BigDecimal("40.00"))
+                .quantity(5)
+                .minimumStock(1)
+                .building(building)
+                .build();
+        entityManager.persist(spareInventory);
+
+        WorkOrderInventoryId workOrderInventoryId = new WorkOrderInventoryId();
+        workOrderInventoryId.setWorkOrderId(workOrder.getId());
+        workOrderInventoryId.setInventoryId(inventory.getId());
+        entityManager.persist(WorkOrderInventory.builder()
+                .id(workOrderInventoryId)
+                .workOrder(workOrder)
+                .inventory(inventory)
+                .quantity(2)
+                .totalCost(new BigDecimal("50.00"))
+                .outputDate(LocalDateTime.now())
+                .build());
+    }
+}
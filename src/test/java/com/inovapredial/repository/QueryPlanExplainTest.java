@@ -0,0 +1,321 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica, via EXPLAIN sobre uma base populada, que as consultas dos repositórios
+ * usam os índices criados nas migrations, e compara os planos das consultas de
+ * métricas antigas (COALESCE nos limites de data) com os das montadas dinamicamente.
+ * A carga de dados desabilita as FKs (session_replication_role).
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanExplainTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "metrics_explain_test";
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final Pattern TOTAL_COST = Pattern.compile("cost=[\\d.]+\\.\\.([\\d.]+)");
+
+    private static final String LEGACY_MONTHLY_COSTS = """
+        SELECT EXTRACT(YEAR FROM wo.opening_date) AS year, EXTRACT(MONTH FROM wo.opening_date) AS month,
+               COALESCE(SUM(wo.total_cost), 0) AS totalCost, COUNT(wo.id) AS workOrderCount
+        FROM work_order wo WHERE wo.building_id = :buildingId
+        AND wo.opening_date >= COALESCE(:startDate, CAST('1900-01-01' AS timestamp))
+        AND wo.opening_date <= COALESCE(:endDate, CAST('2100-12-31' AS timestamp))
+        GROUP BY EXTRACT(YEAR FROM wo.opening_date), EXTRACT(MONTH FROM wo.opening_date)
+        ORDER BY year, month
+        """;
+
+    private Connection connection;
+    private UUID buildingId;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        String url = dbUrl();
+        String user = dbUser();
+        String password = dbPassword();
+
+        Flyway.configure()
+            .dataSource(url, user, password)
+            .schemas(SCHEMA)
+            .locations("classpath:db/migration")
+            .load()
+            .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("SET session_replication_role = replica");
+            statement.execute("""
+                INSERT INTO work_order (id, description, opening_date, closing_date, activity_status,
+                                        maintenance_type, total_cost, equipment_id, building_id)
+                SELECT CAST(md5('work-order-' || g) AS uuid), 'seed',
+                       TIMESTAMP '2020-01-01' + (g % 1826) * INTERVAL '1 day' + (g % 24) * INTERVAL '1 hour',
+                       TIMESTAMP '2020-01-03' + (g % 1826) * INTERVAL '1 day',
+                       (ARRAY['OPEN', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'])[1 + g % 4],
+                       (ARRAY['CORRECTIVE', 'PREVENTIVE', 'PREDICTIVE'])[1 + g % 3],
+                       10 + g % 500,
+                       CAST(md5('equipment-' || (g % 2000)) AS uuid),
+                       CAST(md5('building-' || (g % 50)) AS uuid)
+                FROM generate_series(1, 200000) g
+                """);
+            statement.execute("""
+                INSERT INTO task (id, title, start_date, cost, activity_status, work_order_id, building_id)
+                SELECT gen_random_uuid(), 'seed',
+                       TIMESTAMP '2020-01-01' + (g % 1826) * INTERVAL '1 day',
+                       5 + g % 100,
+                       (ARRAY['OPEN', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'])[1 + g % 4],
+                       CAST(md5('work-order-' || (1 + g % 200000)) AS uuid),
+                       CAST(md5('building-' || (g % 50)) AS uuid)
+                FROM generate_series(1, 200000) g
+                """);
+            statement.execute("""
+                INSERT INTO building (id, name)
+                SELECT CAST(md5('building-' || g) AS uuid), 'seed ' || g
+                FROM generate_series(0, 49) g
+                """);
+            statement.execute("""
+                INSERT INTO ownuser_building (ownuser_id, building_id)
+                SELECT CAST(md5('user-' || g) AS uuid), CAST(md5('building-' || (g % 50)) AS uuid)
+                FROM generate_series(1, 20000) g
+                """);
+            statement.execute("SET session_replication_role = DEFAULT");
+            statement.execute("ANALYZE");
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT CAST(md5('building-7') AS uuid)")) {
+                resultSet.next();
+                buildingId = resultSet.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void existsOpenWorkOrderForEquipment_ShouldUseEquipmentStatusIndex() throws SQLException {
+        // Act
+        String plan = explain("""
+            SELECT wo.id FROM work_order wo
+            WHERE wo.equipment_id = :equipmentId AND wo.building_id = :buildingId AND wo.activity_status = :status
+            LIMIT 1
+            """, Map.of("equipmentId", UUID.nameUUIDFromBytes(new byte[0]), "buildingId", buildingId, "status", "OPEN"));
+
+        // Assert
+        assertTrue(plan.contains("idx_work_order_equipment_status"), plan);
+    }
+
+    @Test
+    void countWorkOrdersByBuilding_ShouldUseBuildingIndex() throws SQLException {
+        // Act
+        String plan = explain("SELECT COUNT(wo.id) FROM work_order wo WHERE wo.building_id = :buildingId",
+            Map.of("buildingId", buildingId));
+
+        // Assert
+        assertTrue(plan.contains("idx_work_order_building_opening_date_id"), plan);
+    }
+
+    @Test
+    void findTasksByWorkOrder_ShouldUseWorkOrderIndex() throws SQLException {
+        // Act
+        String plan = explain("SELECT t.id FROM task t WHERE t.work_order_id = :workOrderId",
+            Map.of("workOrderId", UUID.nameUUIDFromBytes(new byte[0])));
+
+        // Assert
+        assertTrue(plan.contains("idx_task_work_order"), plan);
+    }
+
+    @Test
+    void findUsersOfBuilding_ShouldUseBuildingOwnUserIndex() throws SQLException {
+        // Act
+        String plan = explain("SELECT ub.ownuser_id FROM ownuser_building ub WHERE ub.building_id = :buildingId",
+            Map.of("buildingId", buildingId));
+
+        // Assert
+        assertTrue(plan.contains("idx_ownuser_building_building_ownuser"), plan);
+    }
+
+    @Test
+    void monthlyWorkOrderCosts_WithDateRange_ShouldRangeScanBuildingOpeningDateIndex() throws SQLException {
+        // Arrange
+        LocalDateTime startDate = LocalDateTime.of(2023, 3, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2023, 3, 31, 23, 59, 59);
+
+        // Act
+        String before = explain(LEGACY_MONTHLY_COSTS,
+            Map.of("buildingId", buildingId, "startDate", startDate, "endDate", endDate));
+        String after = explain(MetricQueryRepository.monthlyWorkOrderCostsSql(buildingId, startDate, endDate));
+
+        // Assert
+        String plans = "BEFORE\n" + before + "AFTER\n" + after;
+        assertTrue(after.contains("idx_work_order_building_opening_date_id"), plans);
+        assertTrue(after.contains("opening_date >="), plans);
+        assertFalse(after.contains("Seq Scan on work_order"), plans);
+    }
+
+    @Test
+    void metricSummary_WithFilters_ShouldRangeScanBuildingIndexes() throws SQLException {
+        // Arrange
+        LocalDateTime startDate = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2023, 6, 30, 23, 59, 59);
+
+        // Act
+        String after = explain(MetricQueryRepository.metricSummarySql(buildingId, startDate, endDate,
+            null, null, "CORRECTIVE"));
+
+        // Assert
+        assertTrue(after.contains("idx_work_order_building_opening_date_id"), after);
+        assertTrue(after.contains("idx_task_building_start_date_id"), after);
+        assertFalse(after.contains("Seq Scan on work_order"), after);
+        assertFalse(after.contains("Seq Scan on task"), after);
+    }
+
+    @Test
+    void workOrderKeysetPage_ShouldRangeScanWithoutSorting() throws SQLException {
+        // Arrange
+        LocalDateTime openingDate = LocalDateTime.of(2020, 6, 1, 0, 0);
+
+        // Act
+        String plan = explain("""
+            SELECT wo.id FROM work_order wo
+            WHERE wo.building_id = :buildingId
+            AND wo.opening_date <= :openingDate
+            AND (wo.opening_date < :openingDate OR (wo.opening_date = :openingDate AND wo.id < :id))
+            ORDER BY wo.opening_date DESC, wo.id DESC
+            LIMIT 11
+            """, Map.of("buildingId", buildingId, "openingDate", openingDate, "id", UUID.nameUUIDFromBytes(new byte[0])));
+
+        // Assert
+        assertTrue(plan.contains("idx_work_order_building_opening_date_id"), plan);
+        assertFalse(plan.contains("Sort Key"), plan);
+    }
+
+    @Test
+    void workOrderSearch_WithExistsTenantPredicate_ShouldSkipDistinctAndCostLessThanJoin() throws SQLException {
+        // Arrange
+        Map<String, Object> parameters = Map.of("buildingId", buildingId, "userId", userOfBuilding(7));
+        String distinctJoin = """
+            SELECT DISTINCT wo.* FROM work_order wo
+            JOIN building b ON b.id = wo.building_id
+            JOIN ownuser_building ub ON ub.building_id = b.id
+            WHERE ub.ownuser_id = :userId AND wo.building_id = :buildingId
+            ORDER BY wo.opening_date DESC LIMIT 10
+            """;
+        String exists = """
+            SELECT wo.* FROM work_order wo
+            WHERE wo.building_id = :buildingId
+            AND EXISTS (SELECT 1 FROM building b JOIN ownuser_building ub ON ub.building_id = b.id
+                        WHERE b.id = wo.building_id AND ub.ownuser_id = :userId)
+            ORDER BY wo.opening_date DESC LIMIT 10
+            """;
+        String verifiedBuilding = """
+            SELECT wo.* FROM work_order wo
+            WHERE wo.building_id = :buildingId
+            ORDER BY wo.opening_date DESC LIMIT 10
+            """;
+
+        // Act
+        String distinctJoinPlan = explain("EXPLAIN ANALYZE ", distinctJoin, parameters);
+        String existsPlan = explain("EXPLAIN ANALYZE ", exists, parameters);
+        String verifiedBuildingPlan = explain("EXPLAIN ANALYZE ", verifiedBuilding, parameters);
+
+        // Assert
+        String plans = "DISTINCT JOIN\n" + distinctJoinPlan + "EXISTS\n" + existsPlan
+            + "BUILDING ONLY\n" + verifiedBuildingPlan;
+        assertFalse(existsPlan.contains("Unique"), existsPlan);
+        assertFalse(existsPlan.contains("HashAggregate"), existsPlan);
+        assertTrue(totalCost(existsPlan) < totalCost(distinctJoinPlan), plans);
+        assertTrue(totalCost(verifiedBuildingPlan) <= totalCost(existsPlan), plans);
+    }
+
+    @Test
+    void monthlyTaskCosts_WithoutBounds_ShouldNotCarryDatePlaceholders() {
+        // Act
+        MetricQueryRepository.NativeSql sql = MetricQueryRepository.monthlyTaskCostsSql(buildingId, null, null);
+
+        // Assert
+        assertFalse(sql.sql().contains(":startDate"));
+        assertFalse(sql.sql().contains(":endDate"));
+        assertFalse(sql.sql().contains("COALESCE(:"));
+        assertEquals(Map.of("buildingId", buildingId), sql.parameters());
+    }
+
+    private String explain(MetricQueryRepository.NativeSql sql) throws SQLException {
+        return explain(sql.sql(), sql.parameters());
+    }
+
+    private String explain(String sql, Map<String, Object> parameters) throws SQLException {
+        return explain("EXPLAIN ", sql, parameters);
+    }
+
+    private String explain(String command, String sql, Map<String, Object> parameters) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder(command);
+        while (matcher.find()) {
+            values.add(parameters.get(matcher.group(1)));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        try (PreparedStatement statement = connection.prepareStatement(jdbcSql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    // Custo total estimado do nó raiz do plano
+    private static double totalCost(String plan) {
+        Matcher matcher = TOTAL_COST.matcher(plan);
+        assertTrue(matcher.find(), plan);
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    // Usuários da carga são vinculados ao prédio (g % 50)
+    private UUID userOfBuilding(int building) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT CAST(md5('user-" + (50 + building) + "') AS uuid)")) {
+            resultSet.next();
+            return resultSet.getObject(1, UUID.class);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.inovapredial.repository;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.model.id.UuidV7Generator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserção com chave primária UUID v4 (aleatória) contra v7 (ordenada no tempo): grava as
+ * mesmas linhas em duas tabelas iguais e compara a vazão e o tamanho final do índice da
+ * PK, que com v4 sofre divisões de página espalhadas pela árvore. O resultado fica em
+ * target/uuid-insert-benchmark.csv.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UuidInsertBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "uuid_insert_benchmark";
+    private static final Path REPORT = Path.of("target", "uuid-insert-benchmark.csv");
+    private static final int ROWS = 500_000;
+    private static final int BATCH = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> report = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.show_sql", () -> "false");
+    }
+
+    @BeforeAll
+    void setUp() {
+        report.add("version,rows,millis,rows_per_second,index_bytes,table_bytes");
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_v4_benchmark, uuid_v7_benchmark");
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, report);
+    }
+
+    @Test
+    void insert_V7ShouldKeepPrimaryKeyIndexSmallerThanV4() {
+        // Act
+        long v4 = insert("v4", UUID::randomUUID);
+        long v7 = insert("v7", UuidV7Generator::next);
+
+        // Assert
+        assertTrue(v7 < v4, "Índice da PK com v7 (" + v7 + " bytes) deveria ser menor que com v4 (" + v4 + " bytes)");
+    }
+
+    // Retorna o tamanho do índice da PK depois das inserções
+    private long insert(String version, Supplier<UUID> ids) {
+        String table = "uuid_" + version + "_benchmark";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        // Mesmo formato de uma linha do razão de estoque
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, reference_id UUID NOT NULL, "
+                + "quantity INTEGER NOT NULL, occurred_at TIMESTAMP NOT NULL DEFAULT now())");
+
+        UUID referenceId = UUID.randomUUID();
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                rows.add(new Object[]{ids.get(), referenceId, i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, reference_id, quantity) VALUES (?, ?, ?)", rows);
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(CAST(? AS regclass))", Long.class, table + "_pkey");
+        long tableBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(CAST(? AS regclass))", Long.class, table);
+        report.add(String.join(",", version, String.valueOf(ROWS), String.valueOf(millis),
+                String.valueOf(ROWS * 1000L / millis), String.valueOf(indexBytes), String.valueOf(tableBytes)));
+        return indexBytes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.inovapredial.security;
+
+import com.inovapredial.model.OwnUser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private final OwnUser user = OwnUser.builder().email("user@inovapredial.com").build();
+
+    @Test
+    void validateToken_WhenTokenIsValidatedTwice_ShouldReturnSubjectFromCache() {
+        // Arrange
+        TokenService tokenService = new TokenService("secret", 10);
+        String token = tokenService.generateToken(user);
+
+        // Act
+        String first = tokenService.validateToken(token);
+        String second = tokenService.validateToken(token);
+
+        // Assert
+        assertEquals("user@inovapredial.com", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void validateToken_WhenSignedWithAnotherSecret_ShouldReturnEmpty() {
+        // Arrange
+        String token = new TokenService("other-secret", 10).generateToken(user);
+        TokenService tokenService = new TokenService("secret", 10);
+
+        // Act
+        String subject = tokenService.validateToken(token);
+
+        // Assert
+        assertEquals("", subject);
+    }
+
+    @Test
+    void validateToken_WhenCacheIsDisabled_ShouldStillVerify() {
+        // Arrange
+        TokenService tokenService = new TokenService("secret", 0);
+        String token = tokenService.generateToken(user);
+
+        // Act & Assert
+        assertEquals("user@inovapredial.com", tokenService.validateToken(token));
+        assertEquals("", tokenService.validateToken(token + "x"));
+    }
+}
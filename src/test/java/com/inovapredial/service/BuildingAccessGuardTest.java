@@ -0,0 +1,80 @@
+package com.inovapredial.service;
+
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.repository.BuildingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuildingAccessGuardTest {
+
+    @Mock
+    private BuildingRepository buildingRepository;
+
+    private BuildingAccessGuard buildingAccessGuard;
+    private OwnUser user;
+    private Building building;
+
+    @BeforeEach
+    void setUp() {
+        buildingAccessGuard = new BuildingAccessGuard(buildingRepository);
+        user = OwnUser.builder().id(UUID.randomUUID()).build();
+        building = new Building();
+        building.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void hasAccess_WithinSameRequest_ShouldQueryMembershipOnce() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(buildingRepository.existsMembership(building.getId(), user.getId())).thenReturn(true);
+
+        // Act
+        boolean first = buildingAccessGuard.hasAccess(user, building);
+        boolean second = buildingAccessGuard.hasAccess(user, building);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(buildingRepository, times(1)).existsMembership(building.getId(), user.getId());
+    }
+
+    @Test
+    void hasAccess_OutsideRequest_ShouldQueryEveryTime() {
+        // Arrange
+        when(buildingRepository.existsMembership(building.getId(), user.getId())).thenReturn(false);
+
+        // Act
+        buildingAccessGuard.hasAccess(user, building);
+        boolean result = buildingAccessGuard.hasAccess(user, building);
+
+        // Assert
+        assertFalse(result);
+        verify(buildingRepository, times(2)).existsMembership(building.getId(), user.getId());
+    }
+
+    @Test
+    void hasAccess_WhenUserIsNull_ShouldDenyWithoutQuery() {
+        // Act & Assert
+        assertFalse(buildingAccessGuard.hasAccess(null, building));
+        verifyNoInteractions(buildingRepository);
+    }
+}
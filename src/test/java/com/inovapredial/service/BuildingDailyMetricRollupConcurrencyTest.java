@@ -0,0 +1,194 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.projection.MetricSummaryProjection;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.repository.BuildingDailyMetricRepository;
+import com.inovapredial.repository.MetricQueryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reconstrução completa do consolidado diário concorrendo com recálculos por dia: a
+ * reconstrução não pode regravar um dia com o snapshot anterior ao recálculo, e ao fim o
+ * consolidado precisa bater com o resumo calculado direto das tabelas de origem.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+class BuildingDailyMetricRollupConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "daily_metric_rollup_test";
+
+    @Autowired
+    private BuildingDailyMetricService buildingDailyMetricService;
+
+    @Autowired
+    private BuildingDailyMetricRepository buildingDailyMetricRepository;
+
+    @Autowired
+    private MetricQueryRepository metricQueryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Building building;
+    private final List<WorkOrder> workOrders = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("api.work-order.cost-reconciliation.enabled", () -> "false");
+        registry.add("api.inventory.snapshot.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateTables(jdbcTemplate, SCHEMA);
+        workOrders.clear();
+
+        OwnUser user = new TransactionTemplate(transactionManager).execute(status -> {
+            building = building("Consolidado diário");
+            entityManager.persist(building);
+
+            OwnUser owner = admin("daily-metric-rollup", building);
+            entityManager.persist(owner);
+
+            Calendar calendar = Calendar.builder()
+                    .description("Comercial")
+                    .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build();
+            entityManager.persist(calendar);
+
+            Equipment equipment = Equipment.builder()
+                    .identification("EQ-001")
+                    .classification(EquipmentType.EQUIPMENT)
+                    .criticality(Criticality.HIGH)
+                    .equipmentStatus(EquipmentStatus.ACTIVE)
+                    .calendar(calendar)
+                    .ownUser(owner)
+                    .building(building)
+                    .build();
+            entityManager.persist(equipment);
+
+            // Uma ordem por dia, em dias distintos
+            for (int day = 0; day < 3; day++) {
+                WorkOrder workOrder = WorkOrder.builder()
+                        .description("Revisão " + day)
+                        .openingDate(LocalDateTime.of(2025, 3, 10 + day, 9, 0))
+                        .activityStatus(ActivityStatus.IN_PROGRESS)
+                        .maintenanceType(MaintenanceType.CORRECTIVE)
+                        .totalCost(new BigDecimal("100.00"))
+                        .equipment(equipment)
+                        .building(building)
+                        .build();
+                entityManager.persist(workOrder);
+                workOrders.add(workOrder);
+            }
+            return owner;
+        });
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rebuild_ConcurrentWithDailyRefresh_ShouldKeepRollupInSyncWithSourceTables() throws Exception {
+        // Arrange
+        int iterations = 100;
+        String buildingId = building.getId().toString();
+        buildingDailyMetricService.rebuild(buildingId);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            // Escritas nas ordens, cada uma recalculando o seu dia como fazem os serviços
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    WorkOrder workOrder = workOrders.get(i % workOrders.size());
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update("UPDATE work_order SET total_cost = total_cost + 1 WHERE id = ?",
+                                workOrder.getId());
+                        buildingDailyMetricService.refresh(building.getId(), workOrder.getOpeningDate());
+                    });
+                }
+                return null;
+            }));
+            futures.add(executor.submit(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        buildingDailyMetricService.rebuild(buildingId);
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        MetricSummaryProjection rollup = buildingDailyMetricRepository.findMetricSummary(building.getId(), null, null, null);
+        MetricSummaryProjection live = metricQueryRepository.findMetricSummary(building.getId(), null, null, null, null, null);
+        assertEquals(live.getTotalWorkOrders(), rollup.getTotalWorkOrders());
+        assertEquals(0, new BigDecimal("400.00").compareTo(live.getWorkOrderCost()));
+        assertEquals(0, live.getWorkOrderCost().compareTo(rollup.getWorkOrderCost()),
+                "consolidado " + rollup.getWorkOrderCost() + " difere do resumo " + live.getWorkOrderCost());
+        assertEquals(0, live.getCorrectiveCost().compareTo(rollup.getCorrectiveCost()));
+    }
+}
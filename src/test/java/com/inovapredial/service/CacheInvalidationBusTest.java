@@ -0,0 +1,155 @@
+package com.inovapredial.service;
+
+import com.inovapredial.InovapredialApplication;
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.MetricFilterDTO;
+import com.inovapredial.dto.requests.BuildingRequestDTO;
+import com.inovapredial.dto.requests.OwnUserRequestDTO;
+import com.inovapredial.event.BuildingDataChangedEvent;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.BuildingType;
+import com.inovapredial.model.enums.UserRole;
+import com.inovapredial.repository.BuildingRepository;
+import com.inovapredial.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas instâncias da API (dois contextos na mesma JVM, mesmo banco): uma alteração
+ * feita em uma delas descarta, via LISTEN/NOTIFY, o prédio no cache de segundo nível,
+ * as métricas e o usuário autenticado em cache na outra.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+class CacheInvalidationBusTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "cache_invalidation_test";
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private Building building;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = node("a");
+        nodeB = node("b");
+        await(() -> nodeA.getBean(CacheInvalidationBus.class).isListening()
+                && nodeB.getBean(CacheInvalidationBus.class).isListening());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        truncateTables(jdbcTemplate, SCHEMA);
+        nodeA.getBean(EntityManagerFactory.class).getCache().evictAll();
+        nodeB.getBean(EntityManagerFactory.class).getCache().evictAll();
+
+        building = nodeA.getBean(BuildingRepository.class).save(building("Invalidação de cache"));
+    }
+
+    @Test
+    void healthIndicator_WhileListening_ShouldReportUp() {
+        // Act
+        Health health = nodeB.getBean(CacheInvalidationHealthIndicator.class).health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("cache_invalidation", health.getDetails().get("channel"));
+    }
+
+    @Test
+    void buildingUpdate_ShouldEvictBuildingOnOtherNode() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        nodeB.getBean(BuildingService.class).findById(buildingId);
+        assertTrue(nodeB.getBean(EntityManagerFactory.class).getCache().contains(Building.class, building.getId()));
+
+        // Act
+        nodeA.getBean(BuildingService.class).update(buildingId,
+                new BuildingRequestDTO("Prédio renomeado", BuildingType.COMMERCIAL, 1990, null, null));
+
+        // Assert
+        await(() -> !nodeB.getBean(EntityManagerFactory.class).getCache().contains(Building.class, building.getId()));
+        assertEquals("Prédio renomeado", nodeB.getBean(BuildingService.class).findById(buildingId).getName());
+    }
+
+    @Test
+    void buildingDataChanged_ShouldEvictMetricsOnOtherNode() {
+        // Arrange
+        MetricResultCache cache = nodeB.getBean(MetricResultCache.class);
+        MetricFilterDTO filter = MetricFilterDTO.builder().buildingId(building.getId()).build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("general", filter, loads::incrementAndGet);
+
+        // Act
+        nodeA.publishEvent(new BuildingDataChangedEvent(building.getId()));
+
+        // Assert
+        await(() -> cache.get("general", filter, loads::incrementAndGet) == 2);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void userCreate_ShouldEvictPrincipalOnOtherNode() {
+        // Arrange
+        String email = "cache-invalidation@inovapredial.com";
+        PrincipalCache cache = nodeB.getBean(PrincipalCache.class);
+        OwnUser missing = new OwnUser();
+        cache.get(email, subject -> missing);
+
+        // Act
+        nodeA.getBean(OwnUserService.class).create(
+                new OwnUserRequestDTO("cache-invalidation", "not-used", email, UserRole.ADMIN));
+
+        // Assert
+        await(() -> cache.get(email, subject -> null) != missing);
+    }
+
+    private static ConfigurableApplicationContext node(String name) {
+        return new SpringApplicationBuilder(InovapredialApplication.class)
+                .properties(databaseProperties(SCHEMA))
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.javax.cache.uri=cache-invalidation-node-" + name + ".conf")
+                .run();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Invalidação não chegou à outra instância");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.requests.BuildingRequestDTO;
+import com.inovapredial.dto.requests.TaskRequestDTO;
+import com.inovapredial.dto.requests.WorkOrderRequestDTO;
+import com.inovapredial.dto.responses.EntityCacheStatsDTO;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.BuildingType;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.MaintenanceType;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de segundo nível das entidades de leitura frequente: a segunda leitura do prédio
+ * é servida pelo cache, a alteração descarta a entrada após o commit e comandos nativos
+ * sobre outras tabelas não a afetam.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+class EntityCacheTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "entity_cache_test";
+
+    @Autowired
+    private BuildingService buildingService;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private WorkOrderService workOrderService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Building building;
+    private Equipment equipment;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        // A escuta de invalidações esvazia o cache ao conectar, o que concorreria com as asserções
+        registry.add("api.cache.invalidation.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateTables(jdbcTemplate, SCHEMA);
+        entityManagerFactory.getCache().evictAll();
+
+        OwnUser user = new TransactionTemplate(transactionManager).execute(status -> {
+            building = building("Cache de entidades");
+            entityManager.persist(building);
+
+            OwnUser owner = admin("entity-cache", building);
+            entityManager.persist(owner);
+
+            Calendar calendar = Calendar.builder()
+                    .description("Comercial")
+                    .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build();
+            entityManager.persist(calendar);
+
+            equipment = Equipment.builder()
+                    .identification("EQ-001")
+                    .classification(EquipmentType.EQUIPMENT)
+                    .criticality(Criticality.HIGH)
+                    .equipmentStatus(EquipmentStatus.ACTIVE)
+                    .calendar(calendar)
+                    .ownUser(owner)
+                    .building(building)
+                    .build();
+            entityManager.persist(equipment);
+            return owner;
+        });
+        entityManagerFactory.getCache().evictAll();
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findById_SecondRead_ShouldBeServedByCache() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        long hitsBefore = buildingStats().hits();
+
+        // Act
+        buildingService.findById(buildingId);
+        buildingService.findById(buildingId);
+
+        // Assert
+        assertTrue(entityManagerFactory.getCache().contains(Building.class, building.getId()));
+        assertEquals(1, buildingStats().hits() - hitsBefore);
+    }
+
+    @Test
+    void update_ShouldEvictBuildingAfterCommit() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        Cache cache = entityManagerFactory.getCache();
+        buildingService.findById(buildingId);
+        assertTrue(cache.contains(Building.class, building.getId()));
+
+        // Act
+        buildingService.update(buildingId,
+                new BuildingRequestDTO("Cache renomeado", BuildingType.COMMERCIAL, 1990, null, null));
+
+        // Assert
+        assertFalse(cache.contains(Building.class, building.getId()));
+        assertEquals("Cache renomeado", buildingService.findById(buildingId).getName());
+    }
+
+    @Test
+    void taskCreate_NativeRollupAndCostUpdates_ShouldKeepBuildingCached() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        WorkOrder workOrder = workOrderService.create(new WorkOrderRequestDTO("Troca de rolamento", null, null, null, null,
+                MaintenanceType.CORRECTIVE, null, equipment.getId(), null), buildingId);
+        buildingService.findById(buildingId);
+        assertTrue(entityManagerFactory.getCache().contains(Building.class, building.getId()));
+
+        // Act
+        // Tarefa concluída: variação nativa do custo da ordem e recálculo nativo do consolidado diário
+        taskService.create(new TaskRequestDTO("Troca", null, ActivityStatus.COMPLETED, null, LocalDateTime.now(), null, null,
+                new BigDecimal("100.00"), workOrder.getId(), null), buildingId);
+
+        // Assert
+        assertTrue(entityManagerFactory.getCache().contains(Building.class, building.getId()));
+    }
+
+    private EntityCacheStatsDTO buildingStats() {
+        return entityCache.stats().stream()
+                .filter(stats -> stats.region().equals("building"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
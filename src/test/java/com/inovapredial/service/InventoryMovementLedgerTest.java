@@ -0,0 +1,181 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.requests.InventoryRequestDTO;
+import com.inovapredial.dto.responses.InventoryMovementResponseDTO;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.ItemType;
+import com.inovapredial.model.enums.MovementType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Razão de estoque: cada baixa, devolução e entrada gera um lançamento, e o saldo
+ * derivado (snapshot + cauda) bate com a coluna quantity em qualquer instante, antes e
+ * depois da compactação (inclusive com transações abertas durante ela), e a exclusão do
+ * item preserva o histórico.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+class InventoryMovementLedgerTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "inventory_ledger_test";
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Building building;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        // A compactação é disparada pelo próprio teste
+        registry.add("api.inventory.snapshot.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateTables(jdbcTemplate, SCHEMA);
+
+        OwnUser user = new TransactionTemplate(transactionManager).execute(status -> {
+            building = building("Razão de estoque");
+            entityManager.persist(building);
+
+            OwnUser owner = admin("inventory-ledger", building);
+            entityManager.persist(owner);
+            return owner;
+        });
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stockAt_ShouldMatchQuantityBeforeAndAfterCompaction() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        Inventory inventory = inventoryService.create(
+                new InventoryRequestDTO(ItemType.PART, "Rolamento 6205", new BigDecimal("25.00"), 50, 5, null), buildingId);
+        String inventoryId = inventory.getId().toString();
+        LocalDateTime afterReceipt = LocalDateTime.now();
+
+        inventoryService.reduceStock(inventoryId, 20, buildingId, null);
+        LocalDateTime afterWithdrawal = LocalDateTime.now();
+
+        // Act
+        int compacted = inventorySnapshotService.compact(LocalDateTime.now());
+        inventoryService.restoreStock(inventoryId, 5, buildingId, null);
+        LocalDateTime afterRestore = LocalDateTime.now();
+        inventoryService.reduceStock(inventoryId, 10, buildingId, null);
+
+        // Assert
+        assertEquals(1, compacted);
+        assertEquals(0, inventorySnapshotService.compact(afterWithdrawal));
+        assertEquals(50, inventoryService.getStockAt(inventoryId, buildingId, afterReceipt).quantity());
+        assertEquals(30, inventoryService.getStockAt(inventoryId, buildingId, afterWithdrawal).quantity());
+        assertEquals(35, inventoryService.getStockAt(inventoryId, buildingId, afterRestore).quantity());
+        assertEquals(25, inventoryService.getStockAt(inventoryId, buildingId, null).quantity());
+        assertEquals(25, jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE id = ?", Integer.class, inventory.getId()));
+
+        List<InventoryMovementResponseDTO> movements = inventoryService.getMovements(inventoryId, buildingId, null, null);
+        assertEquals(List.of(MovementType.WITHDRAWAL, MovementType.RESTORE, MovementType.WITHDRAWAL, MovementType.RECEIPT),
+                movements.stream().map(InventoryMovementResponseDTO::movementType).toList());
+        assertEquals(List.of(-10, 5, -20, 50), movements.stream().map(InventoryMovementResponseDTO::quantity).toList());
+    }
+
+    @Test
+    void compact_ShouldNotCutPastMovementOfOpenTransaction() throws Exception {
+        // Arrange
+        String buildingId = building.getId().toString();
+        Inventory inventory = inventoryService.create(
+                new InventoryRequestDTO(ItemType.PART, "Rolamento 6205", new BigDecimal("25.00"), 50, 5, null), buildingId);
+        String inventoryId = inventory.getId().toString();
+
+        // Act
+        int compacted;
+        try (Connection connection = dataSource.getConnection()) {
+            // Lançamento de uma transação que começa antes da compactação e só confirma depois dela
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO inventory_movement (id, inventory_id, building_id, movement_type, quantity)
+                    VALUES (gen_random_uuid(), ?, ?, 'WITHDRAWAL', -10)
+                    """)) {
+                insert.setObject(1, inventory.getId());
+                insert.setObject(2, building.getId());
+                insert.executeUpdate();
+            }
+            compacted = inventorySnapshotService.compact(LocalDateTime.now().plusMinutes(1));
+            connection.commit();
+        }
+
+        // Assert
+        assertEquals(1, compacted);
+        assertEquals(40, inventoryService.getStockAt(inventoryId, buildingId, null).quantity());
+        assertEquals(1, inventorySnapshotService.compact(LocalDateTime.now().plusMinutes(1)));
+        assertEquals(40, inventoryService.getStockAt(inventoryId, buildingId, null).quantity());
+    }
+
+    @Test
+    void delete_ShouldKeepLedgerAndCloseBalance() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        Inventory inventory = inventoryService.create(
+                new InventoryRequestDTO(ItemType.PART, "Rolamento 6205", new BigDecimal("25.00"), 50, 5, null), buildingId);
+        String inventoryId = inventory.getId().toString();
+        inventoryService.reduceStock(inventoryId, 20, buildingId, null);
+        inventorySnapshotService.compact(LocalDateTime.now());
+
+        // Act
+        inventoryService.delete(inventoryId, buildingId);
+
+        // Assert
+        assertEquals(List.of("RECEIPT", "WITHDRAWAL", "CLOSING"), jdbcTemplate.queryForList(
+                "SELECT movement_type FROM inventory_movement WHERE inventory_id = ? ORDER BY occurred_at",
+                String.class, inventory.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM inventory_movement WHERE inventory_id = ?", Integer.class, inventory.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_stock_snapshot WHERE inventory_id = ?", Integer.class, inventory.getId()));
+    }
+}
@@ -0,0 +1,231 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.exceptions.InsufficientStockException;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.enums.ItemType;
+import com.inovapredial.repository.InventoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saques simultâneos do mesmo item: a baixa condicional do InventoryService não pode
+ * perder atualizações nem deixar o saldo negativo. Também compara a vazão com a leitura
+ * seguida de gravação usada antes (reproduzida em {@link #readModifyWrite}), que perde
+ * baixas sob concorrência; a comparação fica em target/inventory-stock-concurrency.csv.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+class InventoryStockConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "stock_concurrency_test";
+    private static final int THREADS = 32;
+    private static final Path REPORT = Path.of("target", "inventory-stock-concurrency.csv");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private BuildingService buildingService;
+
+    @Autowired
+    private BuildingAccessGuard buildingAccessGuard;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OwnUser user;
+    private Building building;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS));
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.show_sql", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateTables(jdbcTemplate, SCHEMA);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            building = building("Concorrência de estoque");
+            entityManager.persist(building);
+
+            user = admin("stock-concurrency", building);
+            entityManager.persist(user);
+        });
+    }
+
+    @Test
+    void reduceStock_ParallelWithdrawals_ShouldNotLoseUpdatesNorGoNegative() throws Exception {
+        // Arrange
+        Inventory inventory = inventory(100);
+        AtomicInteger insufficient = new AtomicInteger();
+
+        // Act
+        Result result = withdrawInParallel(200, () -> {
+            try {
+                inventoryService.reduceStock(inventory.getId().toString(), 1, building.getId().toString(), null);
+                return true;
+            } catch (InsufficientStockException e) {
+                insufficient.incrementAndGet();
+                return false;
+            }
+        });
+
+        // Assert
+        assertEquals(100, result.succeeded());
+        assertEquals(100, insufficient.get());
+        assertEquals(0, quantity(inventory));
+    }
+
+    @Test
+    void reduceStock_ShouldMatchStockAndReportThroughputAgainstReadModifyWrite() throws Exception {
+        // Arrange
+        int withdrawals = 2_000;
+        Inventory atomicItem = inventory(withdrawals);
+        Inventory legacyItem = inventory(withdrawals);
+
+        // Act
+        Result atomic = withdrawInParallel(withdrawals, () -> {
+            inventoryService.reduceStock(atomicItem.getId().toString(), 1, building.getId().toString(), null);
+            return true;
+        });
+        Result legacy = withdrawInParallel(withdrawals, () -> readModifyWrite(legacyItem, 1));
+
+        // Assert
+        // Toda baixa confirmada deveria ter descontado uma unidade
+        int lostUpdates = legacy.succeeded() - (withdrawals - quantity(legacyItem));
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, List.of(
+                "strategy,withdrawals,succeeded,millis,withdrawals_per_second,final_stock,lost_updates",
+                String.join(",", "conditional_update", String.valueOf(withdrawals), String.valueOf(atomic.succeeded()),
+                        String.valueOf(atomic.millis()), String.format(Locale.ROOT, "%.0f", atomic.throughput()),
+                        String.valueOf(quantity(atomicItem)), "0"),
+                String.join(",", "read_modify_write", String.valueOf(withdrawals), String.valueOf(legacy.succeeded()),
+                        String.valueOf(legacy.millis()), String.format(Locale.ROOT, "%.0f", legacy.throughput()),
+                        String.valueOf(quantity(legacyItem)), String.valueOf(lostUpdates))));
+
+        assertEquals(withdrawals, atomic.succeeded());
+        assertEquals(0, quantity(atomicItem));
+    }
+
+    // Implementação anterior do reduceStock: lê o item, confere o saldo em Java e grava o novo valor
+    private boolean readModifyWrite(Inventory item, int quantity) {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+            Building managedBuilding = buildingService.findById(building.getId().toString());
+            if (!buildingAccessGuard.hasAccess(user, managedBuilding)) {
+                throw new IllegalStateException("Usuário sem acesso ao prédio");
+            }
+            Inventory inventory = inventoryService.findByIdAndBuilding(item.getId().toString(), building.getId().toString());
+            if (inventory.getQuantity() < quantity) {
+                return false;
+            }
+            inventory.setQuantity(inventory.getQuantity() - quantity);
+            inventoryRepository.save(inventory);
+            return true;
+        }));
+    }
+
+    private Result withdrawInParallel(int withdrawals, Withdrawal withdrawal) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < withdrawals; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    try {
+                        return withdrawal.run();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            return new Result(succeeded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Inventory inventory(int quantity) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Inventory inventory = Inventory.builder()
+                    .itemType(ItemType.PART)
+                    .name("Rolamento 6205")
+                    .cost(new BigDecimal("25.00"))
+                    .quantity(quantity)
+                    .minimumStock(0)
+                    .building(building)
+                    .build();
+            entityManager.persist(inventory);
+            return inventory;
+        });
+    }
+
+    private int quantity(Inventory inventory) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE id = ?", Integer.class, inventory.getId());
+    }
+
+    @FunctionalInterface
+    private interface Withdrawal {
+        boolean run();
+    }
+
+    private record Result(int succeeded, long millis) {
+
+        double throughput() {
+            return millis == 0 ? succeeded : succeeded * 1000.0 / millis;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.inovapredial.service;
+
+import com.inovapredial.dto.MetricFilterDTO;
+import com.inovapredial.dto.responses.MetricCacheStatsDTO;
+import com.inovapredial.event.BuildingDataChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricResultCacheTest {
+
+    private MetricResultCache cache;
+    private UUID buildingId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MetricResultCache(true, 300, 2);
+        buildingId = UUID.randomUUID();
+    }
+
+    @Test
+    void get_WhenSameFilterIsRequestedTwice_ShouldServeSecondCallFromCache() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        MetricFilterDTO filter = filter(buildingId, LocalDateTime.of(2025, 1, 1, 0, 0, 0, 0));
+        MetricFilterDTO sameFilterWithMillis = filter(buildingId, LocalDateTime.of(2025, 1, 1, 0, 0, 0, 5_000_000));
+
+        // Act
+        cache.get("general", filter, loads::incrementAndGet);
+        Integer cached = cache.get("general", sameFilterWithMillis, loads::incrementAndGet);
+
+        // Assert
+        assertEquals(1, cached);
+        assertEquals(1, loads.get());
+        MetricCacheStatsDTO stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void onBuildingDataChanged_ShouldEvictOnlyEntriesOfThatBuilding() {
+        // Arrange
+        UUID otherBuildingId = UUID.randomUUID();
+        cache.get("general", filter(buildingId, null), () -> "a");
+        cache.get("general", filter(otherBuildingId, null), () -> "b");
+
+        // Act
+        cache.onBuildingDataChanged(new BuildingDataChangedEvent(buildingId));
+
+        // Assert
+        assertEquals("c", cache.get("general", filter(buildingId, null), () -> "c"));
+        assertEquals("b", cache.get("general", filter(otherBuildingId, null), () -> "d"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void get_WhenBuildingChangesWhileLoading_ShouldNotStoreStaleResult() {
+        // Arrange
+        MetricFilterDTO filter = filter(buildingId, null);
+
+        // Act
+        cache.get("general", filter, () -> {
+            cache.invalidateBuilding(buildingId);
+            return "stale";
+        });
+
+        // Assert
+        assertEquals("fresh", cache.get("general", filter, () -> "fresh"));
+    }
+
+    @Test
+    void get_WhenMaxEntriesIsExceeded_ShouldEvictLeastRecentlyUsedEntry() {
+        // Act
+        cache.get("general", filter(buildingId, null), () -> "a");
+        cache.get("workOrders", filter(buildingId, null), () -> "b");
+        cache.get("inventory", filter(buildingId, null), () -> "c");
+
+        // Assert
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    private MetricFilterDTO filter(UUID buildingId, LocalDateTime startDate) {
+        return MetricFilterDTO.builder()
+            .buildingId(buildingId)
+            .startDate(startDate)
+            .build();
+    }
+}
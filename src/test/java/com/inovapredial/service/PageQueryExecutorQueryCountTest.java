@@ -0,0 +1,135 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.PageQueryDTO;
+import com.inovapredial.dto.responses.PageResponseDTO;
+import com.inovapredial.dto.responses.WorkOrderResponseDTO;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.repository.ListProjections;
+import com.inovapredial.repository.PlannerStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que uma página de ordens de serviço sai em uma única consulta: a projeção
+ * lê as FKs sem carregar equipamento, funcionário e prédio, e o COUNT só roda quando
+ * a própria página não revela o total.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PageQueryExecutor.class, PlannerStatisticsRepository.class})
+class PageQueryExecutorQueryCountTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "query_count_test";
+    private static final long WORK_ORDERS = 30;
+
+    @Autowired
+    private PageQueryExecutor pageQueryExecutor;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID buildingId;
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        buildingId = UUID.randomUUID();
+        // Sem as FKs: equipamento, funcionário e prédio referenciados não existem, e não precisam
+        jdbcTemplate.execute("SET session_replication_role = replica");
+        jdbcTemplate.update("""
+            INSERT INTO work_order (id, description, opening_date, activity_status, maintenance_type,
+                                    total_cost, equipment_id, employee_id, building_id)
+            SELECT gen_random_uuid(), 'seed ' || g, TIMESTAMP '2024-01-01' + g * INTERVAL '1 day',
+                   'OPEN', 'CORRECTIVE', 10 + g, gen_random_uuid(), gen_random_uuid(), ?
+            FROM generate_series(1, ?) g
+            """, buildingId, WORK_ORDERS);
+        jdbcTemplate.execute("SET session_replication_role = DEFAULT");
+
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void slicePage_ShouldRunSingleStatement() {
+        // Act
+        PageResponseDTO<WorkOrderResponseDTO> page = findAll(new PageQueryDTO(0, 10, "openingDate", "DESC",
+                PageQueryDTO.Mode.SLICE, null, false));
+
+        // Assert
+        assertEquals(10, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void keysetPages_ShouldRunSingleStatementEach() {
+        // Arrange
+        PageResponseDTO<WorkOrderResponseDTO> first = findAll(new PageQueryDTO(0, 10, "openingDate", "DESC",
+                PageQueryDTO.Mode.KEYSET, null, false));
+        statistics.clear();
+
+        // Act
+        PageResponseDTO<WorkOrderResponseDTO> second = findAll(new PageQueryDTO(0, 10, "openingDate", "DESC",
+                PageQueryDTO.Mode.KEYSET, first.getNextCursor(), false));
+
+        // Assert
+        assertEquals(10, second.getContent().size());
+        assertNotEquals(first.getContent().get(0).id(), second.getContent().get(0).id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void offsetPage_ShouldCountOnlyWhenPageDoesNotRevealTotal() {
+        // Act
+        PageResponseDTO<WorkOrderResponseDTO> lastPage = findAll(new PageQueryDTO(2, 10, "openingDate", "DESC",
+                PageQueryDTO.Mode.OFFSET, null, false));
+        long lastPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        PageResponseDTO<WorkOrderResponseDTO> firstPage = findAll(new PageQueryDTO(0, 10, "openingDate", "DESC",
+                PageQueryDTO.Mode.OFFSET, null, false));
+
+        // Assert
+        assertEquals(WORK_ORDERS, lastPage.getTotalElements().longValue());
+        assertEquals(1, lastPageStatements);
+        assertEquals(WORK_ORDERS, firstPage.getTotalElements().longValue());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private PageResponseDTO<WorkOrderResponseDTO> findAll(PageQueryDTO pageQuery) {
+        Specification<WorkOrder> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("building").get("id"), buildingId);
+        return pageQueryExecutor.findAll(ListProjections.WORK_ORDER,
+                PageQueryExecutor.Scope.of(WorkOrder.class, "building_id", buildingId), spec, pageQuery);
+    }
+}
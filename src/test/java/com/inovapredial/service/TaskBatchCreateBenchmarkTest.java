@@ -0,0 +1,255 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.requests.TaskRequestDTO;
+import com.inovapredial.mapper.TaskMapper;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Employee;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.MaintenanceType;
+import com.inovapredial.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Criação de tarefas em lote com 10, 100 e 1000 tarefas: compara o createBatch, que busca
+ * cada ordem de serviço e funcionário uma vez e insere em lotes JDBC, com a criação item a
+ * item usada antes (reproduzida em {@link #createOneByOne}, sem lotes JDBC). Registra
+ * statements, tempo e tarefas por segundo em target/task-batch-benchmark.csv.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskBatchCreateBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "task_batch_benchmark";
+    private static final Path REPORT = Path.of("target", "task-batch-benchmark.csv");
+    private static final int WORK_ORDERS = 5;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private BuildingService buildingService;
+
+    @Autowired
+    private BuildingAccessGuard buildingAccessGuard;
+
+    @Autowired
+    private WorkOrderService workOrderService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SecurityContextService securityContextService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private final List<String> report = new ArrayList<>();
+
+    private OwnUser user;
+    private Building building;
+    private Employee employee;
+    private final List<WorkOrder> workOrders = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.show_sql", () -> "false");
+    }
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        truncateTables(jdbcTemplate, SCHEMA);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+        report.add("tasks,path,statements,millis,tasks_per_second");
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, report);
+    }
+
+    @BeforeEach
+    void authenticateUser() {
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0} tarefas")
+    @ValueSource(ints = {10, 100, 1000})
+    void createBatch_ShouldUseFewerStatementsThanOneByOne(int size) {
+        // Arrange
+        List<TaskRequestDTO> dtos = requests(size);
+        String buildingId = building.getId().toString();
+        long before = taskRepository.count();
+
+        // Act
+        long oneByOne = measure(size, "one-by-one", () -> createOneByOne(dtos, buildingId));
+        long batch = measure(size, "batch", () -> taskService.createBatch(dtos, buildingId));
+
+        // Assert
+        assertEquals(before + 2L * size, taskRepository.count());
+        assertTrue(batch < oneByOne,
+                "createBatch executou " + batch + " statements contra " + oneByOne + " da criação item a item");
+    }
+
+    private long measure(int size, String path, Supplier<List<Task>> creation) {
+        statistics.clear();
+        long start = System.nanoTime();
+        List<Task> created = creation.get();
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(size, created.size());
+        report.add(String.join(",", String.valueOf(size), path, String.valueOf(statements),
+                String.valueOf(millis), String.valueOf(size * 1000L / millis)));
+        return statements;
+    }
+
+    // Implementação anterior do createBatch: usuário, prédio, ordem e funcionário resolvidos a cada tarefa
+    private List<Task> createOneByOne(List<TaskRequestDTO> dtos, String buildingId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            List<Task> toSave = new ArrayList<>();
+            for (TaskRequestDTO dto : dtos) {
+                OwnUser currentUser = securityContextService.getCurrentUser();
+                Building managedBuilding = buildingService.findById(buildingId);
+                if (!buildingAccessGuard.hasAccess(currentUser, managedBuilding)) {
+                    throw new IllegalStateException("Usuário sem acesso ao prédio");
+                }
+                Task task = taskMapper.toEntity(dto);
+                task.setWorkOrder(workOrderService.findByIdAndBuilding(dto.workOrderId().toString(), buildingId));
+                task.setEmployee(employeeService.findByIdAndBuilding(dto.employeeId().toString(), buildingId));
+                task.setBuilding(managedBuilding);
+                task.setActivityStatus(ActivityStatus.OPEN);
+                toSave.add(task);
+            }
+            return taskRepository.saveAll(toSave);
+        });
+    }
+
+    private List<TaskRequestDTO> requests(int size) {
+        LocalDateTime startDate = LocalDateTime.now().withNano(0);
+        List<TaskRequestDTO> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dtos.add(new TaskRequestDTO("Tarefa " + (i + 1), "Tarefa em lote", null, 60, startDate, null, null,
+                    new BigDecimal("80.00"), workOrders.get(i % WORK_ORDERS).getId(), employee.getId()));
+        }
+        return dtos;
+    }
+
+    private void seed() {
+        building = building("Tarefas em lote");
+        entityManager.persist(building);
+
+        user = admin("task-batch", building);
+        entityManager.persist(user);
+
+        Calendar calendar = Calendar.builder()
+                .description("Comercial")
+                .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build();
+        entityManager.persist(calendar);
+
+        employee = Employee.builder()
+                .name("Técnico")
+                .calendar(calendar)
+                .building(building)
+                .build();
+        entityManager.persist(employee);
+
+        for (int i = 0; i < WORK_ORDERS; i++) {
+            Equipment equipment = Equipment.builder()
+                    .identification("EQ-" + (i + 1))
+                    .classification(EquipmentType.EQUIPMENT)
+                    .criticality(Criticality.HIGH)
+                    .equipmentStatus(EquipmentStatus.UNDER_MAINTENANCE)
+                    .calendar(calendar)
+                    .ownUser(user)
+                    .building(building)
+                    .build();
+            entityManager.persist(equipment);
+
+            WorkOrder workOrder = WorkOrder.builder()
+                    .description("Ordem " + (i + 1))
+                    .openingDate(LocalDateTime.now().minusDays(1))
+                    .activityStatus(ActivityStatus.OPEN)
+                    .maintenanceType(MaintenanceType.CORRECTIVE)
+                    .equipment(equipment)
+                    .employee(employee)
+                    .building(building)
+                    .build();
+            entityManager.persist(workOrder);
+            workOrders.add(workOrder);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.inovapredial.service;
+
+import com.inovapredial.PostgresIntegrationTest;
+import com.inovapredial.dto.requests.TaskRequestDTO;
+import com.inovapredial.dto.requests.WorkOrderInventoryRequestDTO;
+import com.inovapredial.dto.requests.WorkOrderRequestDTO;
+import com.inovapredial.dto.responses.WorkOrderInventoryResponseDTO;
+import com.inovapredial.exceptions.InsufficientStockException;
+import com.inovapredial.model.Building;
+import com.inovapredial.model.Calendar;
+import com.inovapredial.model.Equipment;
+import com.inovapredial.model.Inventory;
+import com.inovapredial.model.OwnUser;
+import com.inovapredial.model.Task;
+import com.inovapredial.model.WorkOrder;
+import com.inovapredial.model.enums.ActivityStatus;
+import com.inovapredial.model.enums.Criticality;
+import com.inovapredial.model.enums.EquipmentStatus;
+import com.inovapredial.model.enums.EquipmentType;
+import com.inovapredial.model.enums.ItemType;
+import com.inovapredial.model.enums.MaintenanceType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Custo da ordem de serviço mantido por variações: materiais e tarefas concluídas somam
+ * nas parcelas e no total sem sobrescrever o valor informado na abertura, a baixa em lote
+ * é tudo ou nada (e não entra em deadlock com outro lote dos mesmos itens) e a conciliação
+ * corrige ordens divergentes.
+ */
+@EnabledIfEnvironmentVariable(named = "IT_DB_URL", matches = ".+")
+@SpringBootTest
+class WorkOrderCostTest extends PostgresIntegrationTest {
+
+    private static final String SCHEMA = "work_order_cost_test";
+
+    @Autowired
+    private WorkOrderService workOrderService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private WorkOrderCostReconciliationService workOrderCostReconciliationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Building building;
+    private Equipment equipment;
+    private Inventory inventory;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registerDatabase(registry, SCHEMA);
+        // A conciliação é disparada pelo próprio teste
+        registry.add("api.work-order.cost-reconciliation.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateTables(jdbcTemplate, SCHEMA);
+
+        OwnUser user = new TransactionTemplate(transactionManager).execute(status -> {
+            building = building("Custo da ordem");
+            entityManager.persist(building);
+
+            OwnUser owner = admin("work-order-cost", building);
+            entityManager.persist(owner);
+
+            Calendar calendar = Calendar.builder()
+                    .description("Comercial")
+                    .monday(true).tuesday(true).wednesday(true).thursday(true).friday(true)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build();
+            entityManager.persist(calendar);
+
+            equipment = Equipment.builder()
+                    .identification("EQ-001")
+                    .classification(EquipmentType.EQUIPMENT)
+                    .criticality(Criticality.HIGH)
+                    .equipmentStatus(EquipmentStatus.ACTIVE)
+                    .calendar(calendar)
+                    .ownUser(owner)
+                    .building(building)
+                    .build();
+            entityManager.persist(equipment);
+
+            inventory = Inventory.builder()
+                    .itemType(ItemType.PART)
+                    .name("Rolamento 6205")
+                    .cost(new BigDecimal("25.00"))
+                    .quantity(100)
+                    .minimumStock(0)
+                    .building(building)
+                    .build();
+            entityManager.persist(inventory);
+            return owner;
+        });
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cost_ShouldFollowMaterialsAndCompletedTasks() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        WorkOrder workOrder = workOrderService.create(new WorkOrderRequestDTO("Troca de rolamento", null, null, null, null,
+                MaintenanceType.CORRECTIVE, new BigDecimal("10.00"), equipment.getId(), null), buildingId);
+        String workOrderId = workOrder.getId().toString();
+        String inventoryId = inventory.getId().toString();
+
+        // Act
+        workOrderService.addInventoryItem(workOrderId, new WorkOrderInventoryRequestDTO(inventoryId, 2), buildingId);
+        workOrderService.addInventoryItem(workOrderId, new WorkOrderInventoryRequestDTO(inventoryId, 1), buildingId);
+        Map<String, Object> afterMaterials = costs(workOrder);
+
+        Task task = taskService.create(new TaskRequestDTO("Troca", null, null, null, null, null, null,
+                new BigDecimal("100.00"), workOrder.getId(), null), buildingId);
+        String taskId = task.getId().toString();
+        taskService.updateStatus(taskId, ActivityStatus.COMPLETED, buildingId, null);
+        taskService.updateStatus(taskId, ActivityStatus.COMPLETED, buildingId, null);
+        Map<String, Object> afterTask = costs(workOrder);
+
+        workOrderService.removeInventoryItem(workOrderId, inventoryId, buildingId);
+        Map<String, Object> afterRemoval = costs(workOrder);
+
+        // Assert
+        assertEquals(new BigDecimal("75.00"), afterMaterials.get("material_cost"));
+        assertEquals(new BigDecimal("85.00"), afterMaterials.get("total_cost"));
+        assertEquals(new BigDecimal("100.00"), afterTask.get("labor_cost"));
+        assertEquals(new BigDecimal("185.00"), afterTask.get("total_cost"));
+        assertEquals(new BigDecimal("0.00"), afterRemoval.get("material_cost"));
+        assertEquals(new BigDecimal("110.00"), afterRemoval.get("total_cost"));
+        assertEquals(0, workOrderCostReconciliationService.reconcile());
+    }
+
+    @Test
+    void reconcile_ShouldRepairDriftedBreakdownAndTotal() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        WorkOrder workOrder = workOrderService.create(new WorkOrderRequestDTO("Troca de rolamento", null, null, null, null,
+                MaintenanceType.CORRECTIVE, null, equipment.getId(), null), buildingId);
+        workOrderService.addInventoryItem(workOrder.getId().toString(),
+                new WorkOrderInventoryRequestDTO(inventory.getId().toString(), 2), buildingId);
+        jdbcTemplate.update("UPDATE work_order SET material_cost = 0, total_cost = 0 WHERE id = ?", workOrder.getId());
+
+        // Act
+        int repaired = workOrderCostReconciliationService.reconcile();
+
+        // Assert
+        assertEquals(1, repaired);
+        assertEquals(new BigDecimal("50.00"), costs(workOrder).get("material_cost"));
+        assertEquals(new BigDecimal("50.00"), costs(workOrder).get("total_cost"));
+        assertEquals(0, workOrderCostReconciliationService.reconcile());
+    }
+
+    @Test
+    void addInventoryItems_ShouldWithdrawAllOrNothing() {
+        // Arrange
+        String buildingId = building.getId().toString();
+        WorkOrder workOrder = workOrderService.create(new WorkOrderRequestDTO("Revisão da bomba", null, null, null, null,
+                MaintenanceType.CORRECTIVE, null, equipment.getId(), null), buildingId);
+        Inventory scarce = new TransactionTemplate(transactionManager).execute(status -> {
+            Inventory item = Inventory.builder()
+                    .itemType(ItemType.PART)
+                    .name("Selo mecânico")
+                    .cost(new BigDecimal("40.00"))
+                    .quantity(1)
+                    .minimumStock(0)
+                    .building(entityManager.getReference(Building.class, building.getId()))
+                    .build();
+            entityManager.persist(item);
+            return item;
+        });
+        String workOrderId = workOrder.getId().toString();
+        String inventoryId = inventory.getId().toString();
+
+        // Act
+        assertThrows(InsufficientStockException.class, () -> workOrderService.addInventoryItems(workOrderId, List.of(
+                new WorkOrderInventoryRequestDTO(inventoryId, 3),
+                new WorkOrderInventoryRequestDTO(scarce.getId().toString(), 2)), buildingId));
+        Map<String, Object> afterRejected = costs(workOrder);
+        int stockAfterRejected = quantity(inventory.getId());
+
+        List<WorkOrderInventoryResponseDTO> added = workOrderService.addInventoryItems(workOrderId, List.of(
+                new WorkOrderInventoryRequestDTO(inventoryId, 3),
+                new WorkOrderInventoryRequestDTO(scarce.getId().toString(), 1),
+                new WorkOrderInventoryRequestDTO(inventoryId, 1)), buildingId);
+
+        // Assert
+        assertEquals(new BigDecimal("0.00"), afterRejected.get("material_cost"));
+        assertEquals(100, stockAfterRejected);
+        assertEquals(2, added.size());
+        assertEquals(96, quantity(inventory.getId()));
+        assertEquals(0, quantity(scarce.getId()));
+        assertEquals(new BigDecimal("140.00"), costs(workOrder).get("material_cost"));
+        assertEquals(new BigDecimal("140.00"), costs(workOrder).get("total_cost"));
+        assertEquals(0, workOrderCostReconciliationService.reconcile());
+    }
+
+    @Test
+    void addInventoryItems_ConcurrentBatchesInOppositeOrder_ShouldNotDeadlock() throws Exception {
+        // Arrange
+        int batches = 50;
+        String buildingId = building.getId().toString();
+        Inventory other = new TransactionTemplate(transactionManager).execute(status -> {
+            Inventory item = Inventory.builder()
+                    .itemType(ItemType.PART)
+                    .name("Selo mecânico")
+                    .cost(new BigDecimal("40.00"))
+                    .quantity(100)
+                    .minimumStock(0)
+                    .building(entityManager.getReference(Building.class, building.getId()))
+                    .build();
+            entityManager.persist(item);
+            return item;
+        });
+        // Uma ordem em aberto por equipamento: a segunda ordem usa outro equipamento
+        Equipment otherEquipment = new TransactionTemplate(transactionManager).execute(status -> {
+            Equipment managed = entityManager.find(Equipment.class, equipment.getId());
+            Equipment copy = Equipment.builder()
+                    .identification("EQ-002")
+                    .classification(managed.getClassification())
+                    .criticality(managed.getCriticality())
+                    .equipmentStatus(managed.getEquipmentStatus())
+                    .calendar(managed.getCalendar())
+                    .ownUser(managed.getOwnUser())
+                    .building(managed.getBuilding())
+                    .build();
+            entityManager.persist(copy);
+            return copy;
+        });
+        WorkOrder first = workOrderService.create(new WorkOrderRequestDTO("Revisão da bomba", null, null, null, null,
+                MaintenanceType.CORRECTIVE, null, equipment.getId(), null), buildingId);
+        WorkOrder second = workOrderService.create(new WorkOrderRequestDTO("Revisão do motor", null, null, null, null,
+                MaintenanceType.CORRECTIVE, null, otherEquipment.getId(), null), buildingId);
+        String inventoryId = inventory.getId().toString();
+        String otherId = other.getId().toString();
+        // Cada lote pede os mesmos itens na ordem inversa do outro
+        List<WorkOrderInventoryRequestDTO> forward = List.of(
+                new WorkOrderInventoryRequestDTO(inventoryId, 1), new WorkOrderInventoryRequestDTO(otherId, 1));
+        List<WorkOrderInventoryRequestDTO> backward = List.of(
+                new WorkOrderInventoryRequestDTO(otherId, 1), new WorkOrderInventoryRequestDTO(inventoryId, 1));
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (var batch : List.of(Map.entry(first, forward), Map.entry(second, backward))) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    try {
+                        for (int i = 0; i < batches; i++) {
+                            workOrderService.addInventoryItems(batch.getKey().getId().toString(), batch.getValue(), buildingId);
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                // Um deadlock no estoque aparece aqui como exceção do PostgreSQL
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(0, quantity(inventory.getId()));
+        assertEquals(0, quantity(other.getId()));
+        assertEquals(new BigDecimal("3250.00"), costs(first).get("material_cost"));
+        assertEquals(new BigDecimal("3250.00"), costs(second).get("material_cost"));
+        assertEquals(0, workOrderCostReconciliationService.reconcile());
+    }
+
+    private int quantity(UUID inventoryId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE id = ?", Integer.class, inventoryId);
+    }
+
+    private Map<String, Object> costs(WorkOrder workOrder) {
+        return jdbcTemplate.queryForMap("SELECT total_cost, material_cost, labor_cost FROM work_order WHERE id = ?",
+                workOrder.getId());
+    }
+}
@@ -0,0 +1,51 @@
+package com.inovapredial.specification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetSpecificationTest {
+
+    @Test
+    void decode_WhenCursorWasEncodedFromLastRow_ShouldReturnSortValueAndId() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        LocalDateTime openingDate = LocalDateTime.of(2025, 3, 10, 8, 30);
+        String cursor = KeysetSpecification.encode("openingDate", Sort.Direction.DESC, openingDate, id);
+
+        // Act
+        KeysetSpecification.Cursor decoded = KeysetSpecification.decode(cursor, "openingDate", Sort.Direction.DESC);
+
+        // Assert
+        assertEquals("2025-03-10T08:30", decoded.value());
+        assertEquals(id, decoded.id());
+    }
+
+    @Test
+    void decode_WhenSortValueIsNull_ShouldKeepNull() {
+        // Arrange
+        String cursor = KeysetSpecification.encode("openingDate", Sort.Direction.ASC, null, UUID.randomUUID());
+
+        // Act
+        KeysetSpecification.Cursor decoded = KeysetSpecification.decode(cursor, "openingDate", Sort.Direction.ASC);
+
+        // Assert
+        assertNull(decoded.value());
+    }
+
+    @Test
+    void decode_WhenSortDiffersFromCursor_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        String cursor = KeysetSpecification.encode("description", Sort.Direction.ASC, "bomba", UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetSpecification.decode(cursor, "openingDate", Sort.Direction.ASC));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetSpecification.decode("not-a-cursor", "description", Sort.Direction.ASC));
+    }
+}